@@ -0,0 +1,56 @@
+package com.syncsenta.ai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Upstream AI endpoints and routing thresholds
+ */
+@ConfigurationProperties(prefix = "hedera.ai.routing")
+public record AiRoutingProperties(
+    Duration chatLatencyTarget,
+    Duration analysisLatencyTarget,
+    Double degradedErrorRate,
+    Duration cooldown,
+    Duration latencyHalfLife,
+    List<Endpoint> endpoints
+) {
+    public AiRoutingProperties {
+        chatLatencyTarget = chatLatencyTarget != null ? chatLatencyTarget : Duration.ofSeconds(3);
+        analysisLatencyTarget = analysisLatencyTarget != null ? analysisLatencyTarget : Duration.ofSeconds(20);
+        degradedErrorRate = degradedErrorRate != null ? degradedErrorRate : 0.5;
+        cooldown = cooldown != null ? cooldown : Duration.ofSeconds(30);
+        latencyHalfLife = latencyHalfLife != null ? latencyHalfLife : Duration.ofSeconds(60);
+        endpoints = endpoints != null ? List.copyOf(endpoints) : List.of();
+    }
+
+    /**
+     * A single upstream endpoint. Capacity caps concurrent requests, cost weight
+     * orders endpoints that meet the latency target, and max complexity keeps
+     * small models away from demanding requests.
+     */
+    public record Endpoint(
+        String name,
+        String baseUrl,
+        String apiKey,
+        String chatModel,
+        String analystModel,
+        Integer capacity,
+        Double costWeight,
+        Double maxComplexity
+    ) {
+        public static final String DEFAULT_CHAT_MODEL = "hedera-moonscape-chat";
+        public static final String DEFAULT_ANALYST_MODEL = "hedera-moonscape-analyst";
+
+        public Endpoint {
+            name = name != null && !name.isBlank() ? name : baseUrl;
+            chatModel = chatModel != null ? chatModel : DEFAULT_CHAT_MODEL;
+            analystModel = analystModel != null ? analystModel : DEFAULT_ANALYST_MODEL;
+            capacity = capacity != null && capacity > 0 ? capacity : Integer.MAX_VALUE;
+            costWeight = costWeight != null ? costWeight : 1.0;
+            maxComplexity = maxComplexity != null ? maxComplexity : 1.0;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.syncsenta.ai.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Peer group of replicas sharing analysis results
+ */
+@ConfigurationProperties(prefix = "cluster")
+public record ClusterProperties(
+    String self,
+    List<String> members,
+    String dnsName,
+    Integer virtualNodes,
+    Duration peerTimeout,
+    Duration lookupTimeout,
+    String sharedSecret,
+    Cache cache
+) {
+    public ClusterProperties {
+        members = members != null
+                ? members.stream().map(String::trim).filter(member -> !member.isEmpty()).toList()
+                : List.of();
+        virtualNodes = virtualNodes != null && virtualNodes > 0 ? virtualNodes : 128;
+        peerTimeout = peerTimeout != null ? peerTimeout : Duration.ofSeconds(35);
+        lookupTimeout = lookupTimeout != null ? lookupTimeout : Duration.ofSeconds(2);
+        cache = cache != null ? cache : new Cache(null, null);
+    }
+
+    public boolean hasSharedSecret() {
+        return sharedSecret != null && !sharedSecret.isBlank();
+    }
+
+    /**
+     * Local store for owned entries and near-cache copies of peer-owned entries
+     */
+    public record Cache(
+        Integer maxEntries,
+        Duration ttl
+    ) {
+        public Cache {
+            maxEntries = maxEntries != null && maxEntries > 0 ? maxEntries : 500;
+            ttl = ttl != null ? ttl : Duration.ofMinutes(30);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.syncsenta.ai.controller;
+
+import com.syncsenta.ai.dto.BroadcastRequest;
+import com.syncsenta.ai.dto.BroadcastResponse;
+import com.syncsenta.ai.service.ClassroomBroadcastService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller for classroom broadcasts: one tutor response streamed to a whole class
+ */
+@RestController
+@RequestMapping("/tutor/broadcast")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:3000", "https://syncsenta.netlify.app"})
+public class ClassroomBroadcastController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassroomBroadcastController.class);
+
+    private final ClassroomBroadcastService broadcastService;
+
+    public ClassroomBroadcastController(ClassroomBroadcastService broadcastService) {
+        this.broadcastService = broadcastService;
+    }
+
+    /**
+     * Teacher opens a broadcast for a class
+     * POST /api/tutor/broadcast
+     */
+    @PostMapping
+    public Mono<ResponseEntity<BroadcastResponse>> open(@Valid @RequestBody BroadcastRequest request) {
+        logger.info("Received broadcast request for class {} (Grade {} {})",
+                   request.classId(),
+                   request.studentContext().gradeLevel(),
+                   request.studentContext().currentSubject());
+
+        return broadcastService.open(request.classId(), request.message(), request.studentContext())
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * Student follows the current broadcast of a class (Server-Sent Events)
+     * GET /api/tutor/broadcast/{classId}/stream
+     */
+    @GetMapping(value = "/{classId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Mono<ResponseEntity<Flux<String>>> stream(@PathVariable String classId) {
+        return broadcastService.subscribe(classId)
+                .map(frames -> ResponseEntity.ok(frames
+                        .map(chunk -> "data: " + chunk + "\n\n")
+                        .doOnError(error -> logger.error("Error in broadcast stream for class {}: ", classId, error))))
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    logger.info("No active broadcast for class {}", classId);
+                    return ResponseEntity.notFound().build();
+                }));
+    }
+}
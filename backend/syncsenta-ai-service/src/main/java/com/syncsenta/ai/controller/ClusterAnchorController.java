@@ -0,0 +1,48 @@
+package com.syncsenta.ai.controller;
+
+import com.syncsenta.ai.dto.InclusionProofResponse;
+import com.syncsenta.ai.service.AnalysisAnchoringService;
+import com.syncsenta.ai.service.ClusterMembership;
+import com.syncsenta.ai.service.ClusteredAnalysisCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+/**
+ * Internal endpoint used by peer replicas to find inclusion proofs anchored here
+ */
+@RestController
+@RequestMapping("/internal/anchors")
+public class ClusterAnchorController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterAnchorController.class);
+
+    private final AnalysisAnchoringService anchoringService;
+    private final ClusterMembership membership;
+
+    public ClusterAnchorController(AnalysisAnchoringService anchoringService, ClusterMembership membership) {
+        this.anchoringService = anchoringService;
+        this.membership = membership;
+    }
+
+    /**
+     * Inclusion proof held by this replica only; peers are not asked again
+     * GET /api/internal/anchors/{analysisId}
+     */
+    @GetMapping("/{analysisId}")
+    public Mono<ResponseEntity<InclusionProofResponse>> anchorProof(
+            @RequestHeader(value = ClusteredAnalysisCache.SHARED_SECRET_HEADER, required = false) String secret,
+            @PathVariable String analysisId) {
+        if (!membership.isAuthorizedPeer(secret)) {
+            logger.warn("Rejected peer anchor lookup with invalid cluster secret");
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+
+        return Mono.just(anchoringService.proof(analysisId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+}
@@ -0,0 +1,89 @@
+package com.syncsenta.ai.controller;
+
+import com.syncsenta.ai.dto.BroadcastRequest;
+import com.syncsenta.ai.dto.BroadcastResponse;
+import com.syncsenta.ai.service.ClassroomBroadcastService;
+import com.syncsenta.ai.service.ClusterMembership;
+import com.syncsenta.ai.service.ClusteredAnalysisCache;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Internal endpoint used by peer replicas to open and follow broadcasts of classes owned here
+ */
+@RestController
+@RequestMapping("/internal/broadcast")
+public class ClusterBroadcastController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterBroadcastController.class);
+
+    private final ClassroomBroadcastService broadcastService;
+    private final ClusterMembership membership;
+
+    public ClusterBroadcastController(ClassroomBroadcastService broadcastService, ClusterMembership membership) {
+        this.broadcastService = broadcastService;
+        this.membership = membership;
+    }
+
+    /**
+     * Open a broadcast on this replica; never forwarded again
+     * POST /api/internal/broadcast
+     */
+    @PostMapping
+    public Mono<ResponseEntity<BroadcastResponse>> open(
+            @RequestHeader(value = ClusteredAnalysisCache.SHARED_SECRET_HEADER, required = false) String secret,
+            @Valid @RequestBody BroadcastRequest request) {
+        if (!membership.isAuthorizedPeer(secret)) {
+            logger.warn("Rejected peer broadcast with invalid cluster secret");
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+
+        return Mono.just(ResponseEntity.ok(
+            broadcastService.openLocal(request.classId(), request.message(), request.studentContext())));
+    }
+
+    /**
+     * Current broadcast of a class on this replica
+     * GET /api/internal/broadcast/{classId}
+     */
+    @GetMapping("/{classId}")
+    public Mono<ResponseEntity<BroadcastResponse>> broadcast(
+            @RequestHeader(value = ClusteredAnalysisCache.SHARED_SECRET_HEADER, required = false) String secret,
+            @PathVariable String classId) {
+        if (!membership.isAuthorizedPeer(secret)) {
+            logger.warn("Rejected peer broadcast lookup with invalid cluster secret");
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+
+        return Mono.just(broadcastService.localBroadcast(classId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+    /**
+     * Frames of the broadcast running on this replica (Server-Sent Events).
+     * Coalesced here like any subscriber, and again per student on the relaying peer.
+     * GET /api/internal/broadcast/{classId}/stream
+     */
+    @GetMapping(value = "/{classId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<Flux<ServerSentEvent<String>>> stream(
+            @RequestHeader(value = ClusteredAnalysisCache.SHARED_SECRET_HEADER, required = false) String secret,
+            @PathVariable String classId) {
+        if (!membership.isAuthorizedPeer(secret)) {
+            logger.warn("Rejected peer broadcast stream with invalid cluster secret");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return broadcastService.subscribeLocal(classId)
+                .map(frames -> ResponseEntity.ok(frames.map(chunk -> ServerSentEvent.builder(chunk).build())))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
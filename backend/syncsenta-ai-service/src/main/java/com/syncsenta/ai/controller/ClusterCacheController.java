@@ -0,0 +1,69 @@
+package com.syncsenta.ai.controller;
+
+import com.syncsenta.ai.dto.PeerAnalysisRequest;
+import com.syncsenta.ai.service.ClusterMembership;
+import com.syncsenta.ai.service.ClusteredAnalysisCache;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Internal endpoints used by peer replicas to share analysis results
+ */
+@RestController
+@RequestMapping("/internal/cache")
+public class ClusterCacheController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterCacheController.class);
+
+    private final ClusteredAnalysisCache analysisCache;
+    private final ClusterMembership membership;
+
+    public ClusterCacheController(ClusteredAnalysisCache analysisCache, ClusterMembership membership) {
+        this.analysisCache = analysisCache;
+        this.membership = membership;
+    }
+
+    /**
+     * Compute or return the cached analysis for a key this replica owns
+     * POST /api/internal/cache/analysis
+     */
+    @PostMapping(value = "/analysis", produces = MediaType.TEXT_PLAIN_VALUE)
+    public Mono<ResponseEntity<String>> analysis(
+            @RequestHeader(value = ClusteredAnalysisCache.SHARED_SECRET_HEADER, required = false) String secret,
+            @Valid @RequestBody PeerAnalysisRequest request) {
+        if (!membership.isAuthorizedPeer(secret)) {
+            logger.warn("Rejected peer analysis request with invalid cluster secret");
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+
+        return analysisCache.computeAsOwner(request)
+                .map(ResponseEntity::ok)
+                .doOnError(error -> logger.error("Error computing analysis for peer: ", error));
+    }
+
+    /**
+     * Current view of the peer group
+     * GET /api/internal/cache/members
+     */
+    @GetMapping("/members")
+    public Mono<ResponseEntity<Map<String, Object>>> members(
+            @RequestHeader(value = ClusteredAnalysisCache.SHARED_SECRET_HEADER, required = false) String secret) {
+        if (!membership.isAuthorizedPeer(secret)) {
+            logger.warn("Rejected cluster membership request with invalid cluster secret");
+            return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+        }
+
+        return Mono.just(ResponseEntity.ok(Map.of(
+            "self", membership.self(),
+            "members", membership.members()
+        )));
+    }
+}
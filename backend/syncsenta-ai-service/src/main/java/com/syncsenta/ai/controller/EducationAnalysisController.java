@@ -4,6 +4,9 @@ import com.syncsenta.ai.dto.AnalysisRequest;
 import com.syncsenta.ai.dto.AnalysisResponse;
 import com.syncsenta.ai.dto.EquityAnalysisRequest;
 import com.syncsenta.ai.dto.EquityAnalysisResponse;
+import com.syncsenta.ai.dto.InclusionProofResponse;
+import com.syncsenta.ai.service.AnalysisAnchoringService;
+import com.syncsenta.ai.service.ClusteredAnchorProofs;
 import com.syncsenta.ai.service.EducationAnalysisService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -25,9 +28,15 @@ public class EducationAnalysisController {
     private static final Logger logger = LoggerFactory.getLogger(EducationAnalysisController.class);
     
     private final EducationAnalysisService analysisService;
+    private final AnalysisAnchoringService anchoringService;
+    private final ClusteredAnchorProofs anchorProofs;
     
-    public EducationAnalysisController(EducationAnalysisService analysisService) {
+    public EducationAnalysisController(EducationAnalysisService analysisService,
+                                       AnalysisAnchoringService anchoringService,
+                                       ClusteredAnchorProofs anchorProofs) {
         this.analysisService = analysisService;
+        this.anchoringService = anchoringService;
+        this.anchorProofs = anchorProofs;
     }
     
     /**
@@ -46,6 +55,7 @@ public class EducationAnalysisController {
                         System.currentTimeMillis(),
                         UUID.randomUUID().toString()
                     );
+                    anchoringService.anchor(response.analysisId(), response);
                     return ResponseEntity.ok(response);
                 })
                 .doOnSuccess(result -> logger.info("School head analysis completed"))
@@ -60,7 +70,7 @@ public class EducationAnalysisController {
     public Mono<ResponseEntity<AnalysisResponse>> teacherAnalysis(@Valid @RequestBody AnalysisRequest request) {
         logger.info("Received teacher analysis request");
         
-        return analysisService.generateTeacherInsights(request.query(), request.contextData())
+        return analysisService.generateTeacherInsights(request.schoolId(), request.query(), request.contextData())
                 .map(analysis -> {
                     var response = new AnalysisResponse(
                         analysis,
@@ -68,6 +78,7 @@ public class EducationAnalysisController {
                         System.currentTimeMillis(),
                         UUID.randomUUID().toString()
                     );
+                    anchoringService.anchor(response.analysisId(), response);
                     return ResponseEntity.ok(response);
                 })
                 .doOnSuccess(result -> logger.info("Teacher analysis completed"))
@@ -83,7 +94,10 @@ public class EducationAnalysisController {
         logger.info("Received equity analysis request for county: {}", request.county());
         
         return analysisService.generateEquityAnalysis(request.county())
-                .map(ResponseEntity::ok)
+                .map(response -> {
+                    anchoringService.anchor(response.analysisId(), response);
+                    return ResponseEntity.ok(response);
+                })
                 .doOnSuccess(result -> logger.info("Equity analysis completed for county: {}", request.county()))
                 .doOnError(error -> logger.error("Error in equity analysis: ", error));
     }
@@ -104,12 +118,26 @@ public class EducationAnalysisController {
                         System.currentTimeMillis(),
                         UUID.randomUUID().toString()
                     );
+                    anchoringService.anchor(response.analysisId(), response);
                     return ResponseEntity.ok(response);
                 })
                 .doOnSuccess(result -> logger.info("County strategic analysis completed"))
                 .doOnError(error -> logger.error("Error in county strategic analysis: ", error));
     }
     
+    /**
+     * Merkle inclusion proof tying an analysis result to its anchored batch root,
+     * or status PENDING while its batch is still open
+     * GET /api/analysis/anchors/{analysisId}
+     */
+    @GetMapping("/anchors/{analysisId}")
+    public Mono<ResponseEntity<InclusionProofResponse>> anchorProof(@PathVariable String analysisId) {
+        return anchorProofs.proof(analysisId)
+                .map(proof -> proof
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+    
     /**
      * Health check endpoint for analysis service
      * GET /api/analysis/health
@@ -0,0 +1,20 @@
+package com.syncsenta.ai.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Request DTO for a teacher opening a classroom broadcast
+ */
+public record BroadcastRequest(
+    @NotBlank
+    String classId,
+    
+    @NotBlank
+    String message,
+    
+    @NotNull
+    @Valid
+    StudentContext studentContext
+) {}
@@ -0,0 +1,10 @@
+package com.syncsenta.ai.dto;
+
+/**
+ * Response DTO for an opened classroom broadcast
+ */
+public record BroadcastResponse(
+    String classId,
+    String broadcastId,
+    Long timestamp
+) {}
@@ -0,0 +1,18 @@
+package com.syncsenta.ai.dto;
+
+import java.util.List;
+
+/**
+ * Rolling tutor engagement statistics for one school/grade/subject.
+ * Latencies are full response times, streamed or not; failed requests are not counted.
+ */
+public record ClassEngagementStats(
+    String schoolId,
+    Integer gradeLevel,
+    String subject,
+    Long messageCount,
+    Long avgLatencyMs,
+    Long p90LatencyMs,
+    Long avgResponseChars,
+    List<String> topQuestionClusters
+) {}
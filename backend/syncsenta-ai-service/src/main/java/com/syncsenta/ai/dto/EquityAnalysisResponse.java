@@ -7,7 +7,8 @@ import java.util.List;
  */
 public record EquityAnalysisResponse(
     List<HeatmapData> heatmap,
-    Long timestamp
+    Long timestamp,
+    String analysisId
 ) {
     public record HeatmapData(
         String ward,
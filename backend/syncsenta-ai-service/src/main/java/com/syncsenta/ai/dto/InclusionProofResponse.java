@@ -0,0 +1,27 @@
+package com.syncsenta.ai.dto;
+
+import java.util.List;
+
+/**
+ * Merkle inclusion proof for an anchored analysis result.
+ *
+ * Leaf hash is SHA-256(0x00 || response JSON); each step combines the running
+ * hash with its sibling as SHA-256(0x01 || left || right), ending at merkleRoot.
+ * While status is PENDING the result is not in a batch yet and only leafHash is set.
+ */
+public record InclusionProofResponse(
+    String analysisId,
+    String leafHash,
+    String batchId,
+    String merkleRoot,
+    List<ProofStep> proof,
+    String status,
+    String topicId,
+    String transactionId,
+    Long sequenceNumber
+) {
+    public record ProofStep(
+        String siblingHash,
+        String position
+    ) {}
+}
@@ -0,0 +1,19 @@
+package com.syncsenta.ai.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import java.util.Map;
+
+/**
+ * Internal DTO carrying an analysis computation to the replica that owns its cache key
+ */
+public record PeerAnalysisRequest(
+    @NotBlank
+    String systemPrompt,
+    
+    @NotBlank
+    String query,
+    
+    Map<String, Object> contextData,
+    
+    AnalysisRequest.AnalysisType analysisType
+) {}
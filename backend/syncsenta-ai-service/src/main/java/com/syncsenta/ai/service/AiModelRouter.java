@@ -0,0 +1,302 @@
+package com.syncsenta.ai.service;
+
+import com.syncsenta.ai.config.AiRoutingProperties;
+import com.syncsenta.ai.service.RoutingHints.LatencyClass;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Routes AI requests to the cheapest upstream endpoint that meets the latency
+ * target, using live latency and error statistics per endpoint. Latency is
+ * tracked per {@link LatencyClass}, so a slow analysis never makes an endpoint
+ * look slow for chat.
+ *
+ * Latency averages decay with time, so an endpoint that lost its traffic after
+ * a few slow calls is tried again once they are old, instead of staying behind
+ * a more expensive endpoint for good.
+ */
+@Service
+public class AiModelRouter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AiModelRouter.class);
+
+    private static final double EWMA_ALPHA = 0.2;
+    private static final long NOT_MEASURED = Long.MIN_VALUE;
+
+    private final List<UpstreamEndpoint> endpoints;
+    private final Duration chatLatencyTarget;
+    private final Duration analysisLatencyTarget;
+    private final double degradedErrorRate;
+    private final long cooldownNanos;
+    private final long latencyHalfLifeNanos;
+
+    public AiModelRouter(
+            @Value("${hedera.ai.base-url}") String baseUrl,
+            @Value("${hedera.ai.api-key}") String apiKey,
+            AiRoutingProperties properties) {
+
+        this.chatLatencyTarget = properties.chatLatencyTarget();
+        this.analysisLatencyTarget = properties.analysisLatencyTarget();
+        this.degradedErrorRate = properties.degradedErrorRate();
+        this.cooldownNanos = properties.cooldown().toNanos();
+        this.latencyHalfLifeNanos = properties.latencyHalfLife().toNanos();
+
+        List<AiRoutingProperties.Endpoint> configured = properties.endpoints().isEmpty()
+                ? List.of(new AiRoutingProperties.Endpoint("default", baseUrl, apiKey, null, null, null, null, null))
+                : properties.endpoints();
+
+        this.endpoints = configured.stream()
+                .map(endpoint -> new UpstreamEndpoint(endpoint, buildWebClient(endpoint, apiKey), latencyHalfLifeNanos))
+                .toList();
+
+        endpoints.forEach(endpoint -> logger.info("Registered AI upstream '{}' at {} (cost {}, capacity {})",
+                endpoint.config().name(), endpoint.config().baseUrl(),
+                endpoint.config().costWeight(), endpoint.config().capacity()));
+    }
+
+    /**
+     * Endpoints to try for a request, in failover order.
+     *
+     * Healthy endpoints that meet the latency target come first, cheapest first.
+     * Healthy endpoints over target follow, fastest first. Degraded endpoints are
+     * kept as a last resort so a request is never refused outright.
+     */
+    public List<UpstreamEndpoint> candidates(RoutingHints hints) {
+        double complexity = hints.complexity();
+        LatencyClass latencyClass = hints.latencyClass();
+        long targetMs = (hints.isAnalysis() ? analysisLatencyTarget : chatLatencyTarget).toMillis();
+        long now = System.nanoTime();
+
+        List<UpstreamEndpoint> capable = endpoints.stream()
+                .filter(endpoint -> endpoint.config().maxComplexity() >= complexity)
+                .toList();
+        if (capable.isEmpty()) {
+            capable = endpoints;
+        }
+
+        List<UpstreamEndpoint> withinTarget = new ArrayList<>();
+        List<UpstreamEndpoint> overTarget = new ArrayList<>();
+        List<UpstreamEndpoint> degraded = new ArrayList<>();
+        for (UpstreamEndpoint endpoint : capable) {
+            if (endpoint.isDegraded(now)) {
+                degraded.add(endpoint);
+            } else if (endpoint.latencyMillis(latencyClass, now) <= targetMs && endpoint.hasCapacity()) {
+                withinTarget.add(endpoint);
+            } else {
+                overTarget.add(endpoint);
+            }
+        }
+
+        withinTarget.sort(Comparator.comparingDouble((UpstreamEndpoint e) -> e.config().costWeight())
+                .thenComparingDouble((UpstreamEndpoint e) -> e.latencyMillis(latencyClass, now)));
+        overTarget.sort(Comparator.comparingDouble((UpstreamEndpoint e) -> e.latencyMillis(latencyClass, now)));
+        degraded.sort(Comparator.comparingLong(UpstreamEndpoint::cooldownUntilNanos));
+
+        List<UpstreamEndpoint> ordered = new ArrayList<>(capable.size());
+        ordered.addAll(withinTarget);
+        ordered.addAll(overTarget);
+        ordered.addAll(degraded);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Routing request (complexity {}, target {}ms) to {}",
+                    String.format("%.2f", complexity), targetMs, ordered.get(0).config().name());
+        }
+
+        return ordered;
+    }
+
+    public int endpointCount() {
+        return endpoints.size();
+    }
+
+    /**
+     * Track latency and errors of a single-response call against an endpoint.
+     * A timed-out call counts as a latency sample of at least the timeout.
+     */
+    public <T> Mono<T> track(UpstreamEndpoint endpoint, LatencyClass latencyClass, Mono<T> call) {
+        return Mono.defer(() -> {
+            long startNanos = endpoint.begin();
+            return call
+                    .doOnSuccess(result -> endpoint.recordSuccess(latencyClass, startNanos))
+                    .doOnError(error -> recordFailure(endpoint, latencyClass, startNanos, error))
+                    .doFinally(signal -> endpoint.end());
+        });
+    }
+
+    /**
+     * Track a streaming call; latency is measured to the first element
+     */
+    public <T> Flux<T> trackStream(UpstreamEndpoint endpoint, LatencyClass latencyClass, Flux<T> call) {
+        return Flux.defer(() -> {
+            long startNanos = endpoint.begin();
+            var measured = new AtomicBoolean();
+            return call
+                    .doOnNext(item -> {
+                        if (measured.compareAndSet(false, true)) {
+                            endpoint.recordSuccess(latencyClass, startNanos);
+                        }
+                    })
+                    .doOnComplete(() -> {
+                        if (measured.compareAndSet(false, true)) {
+                            endpoint.recordSuccess(latencyClass, startNanos);
+                        }
+                    })
+                    .doOnError(error -> recordFailure(endpoint, latencyClass,
+                            measured.get() ? NOT_MEASURED : startNanos, error))
+                    .doFinally(signal -> endpoint.end());
+        });
+    }
+
+    private void recordFailure(UpstreamEndpoint endpoint, LatencyClass latencyClass, long startNanos, Throwable error) {
+        // Without this an endpoint that stops answering keeps its last fast average
+        if (error instanceof TimeoutException && startNanos != NOT_MEASURED) {
+            endpoint.recordLatency(latencyClass, startNanos);
+        }
+        if (endpoint.recordFailure(degradedErrorRate, cooldownNanos)) {
+            logger.warn("AI upstream '{}' degraded, cooling down for {}ms",
+                    endpoint.config().name(), TimeUnit.NANOSECONDS.toMillis(cooldownNanos));
+        }
+    }
+
+    private static WebClient buildWebClient(AiRoutingProperties.Endpoint endpoint, String defaultApiKey) {
+        String apiKey = endpoint.apiKey() != null ? endpoint.apiKey() : defaultApiKey;
+        return WebClient.builder()
+                .baseUrl(endpoint.baseUrl())
+                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
+                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024))
+                .build();
+    }
+
+    /**
+     * An upstream endpoint with its client and live statistics
+     */
+    public static final class UpstreamEndpoint {
+
+        private final AiRoutingProperties.Endpoint config;
+        private final WebClient webClient;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        // null until the first sample, which then seeds the average
+        private final AtomicReferenceArray<LatencyEstimate> latency =
+                new AtomicReferenceArray<>(LatencyClass.values().length);
+        private final AtomicLong errorRateEwmaBits = new AtomicLong(Double.doubleToLongBits(0.0));
+        private final long latencyHalfLifeNanos;
+        private volatile long cooldownUntilNanos;
+
+        UpstreamEndpoint(AiRoutingProperties.Endpoint config, WebClient webClient, long latencyHalfLifeNanos) {
+            this.config = config;
+            this.webClient = webClient;
+            this.latencyHalfLifeNanos = latencyHalfLifeNanos;
+            this.cooldownUntilNanos = System.nanoTime();
+        }
+
+        public AiRoutingProperties.Endpoint config() {
+            return config;
+        }
+
+        public WebClient webClient() {
+            return webClient;
+        }
+
+        /**
+         * Average latency for one kind of call, halved for every half-life since the
+         * last sample; 0 until measured so new endpoints get tried
+         */
+        double latencyMillis(LatencyClass latencyClass, long nowNanos) {
+            LatencyEstimate estimate = latency.get(latencyClass.ordinal());
+            return estimate == null ? 0.0 : estimate.decayedAt(nowNanos, latencyHalfLifeNanos);
+        }
+
+        double latencyMillis(LatencyClass latencyClass) {
+            return latencyMillis(latencyClass, System.nanoTime());
+        }
+
+        long cooldownUntilNanos() {
+            return cooldownUntilNanos;
+        }
+
+        boolean isDegraded(long nowNanos) {
+            return nowNanos - cooldownUntilNanos < 0;
+        }
+
+        boolean hasCapacity() {
+            return inFlight.get() < config.capacity();
+        }
+
+        long begin() {
+            inFlight.incrementAndGet();
+            return System.nanoTime();
+        }
+
+        void end() {
+            inFlight.decrementAndGet();
+        }
+
+        void recordSuccess(LatencyClass latencyClass, long startNanos) {
+            recordLatency(latencyClass, startNanos);
+            updateEwma(errorRateEwmaBits, 0.0);
+        }
+
+        void recordLatency(LatencyClass latencyClass, long startNanos) {
+            long now = System.nanoTime();
+            double elapsedMs = (now - startNanos) / 1_000_000.0;
+            latency.updateAndGet(latencyClass.ordinal(), current -> {
+                if (current == null) {
+                    return new LatencyEstimate(elapsedMs, now);
+                }
+                double value = current.decayedAt(now, latencyHalfLifeNanos);
+                return new LatencyEstimate(value + EWMA_ALPHA * (elapsedMs - value), now);
+            });
+        }
+
+        /**
+         * @return true if this failure put the endpoint into cooldown
+         */
+        boolean recordFailure(double degradedErrorRate, long cooldownNanos) {
+            double errorRate = updateEwma(errorRateEwmaBits, 1.0);
+            if (errorRate < degradedErrorRate) {
+                return false;
+            }
+            // Start the next probe period from a clean error rate and unmeasured latency
+            errorRateEwmaBits.set(Double.doubleToLongBits(0.0));
+            for (int i = 0; i < latency.length(); i++) {
+                latency.set(i, null);
+            }
+            cooldownUntilNanos = System.nanoTime() + cooldownNanos;
+            return true;
+        }
+
+        private static double updateEwma(AtomicLong bits, double sample) {
+            long updated = bits.updateAndGet(current -> {
+                double value = Double.longBitsToDouble(current);
+                return Double.doubleToLongBits(value + EWMA_ALPHA * (sample - value));
+            });
+            return Double.longBitsToDouble(updated);
+        }
+    }
+
+    private record LatencyEstimate(double millis, long atNanos) {
+
+        double decayedAt(long nowNanos, long halfLifeNanos) {
+            return millis * Math.pow(0.5, (double) Math.max(0, nowNanos - atNanos) / halfLifeNanos);
+        }
+    }
+}
@@ -0,0 +1,446 @@
+package com.syncsenta.ai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syncsenta.ai.dto.InclusionProofResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Tamper-evident anchoring of analysis results.
+ *
+ * Each response is hashed when it is served and queued. Queued hashes are
+ * grouped into batches bounded by size and age, a Merkle tree is built per
+ * batch and only its root is submitted, off the request path. Inclusion
+ * proofs tie each analysisId to an anchored root.
+ *
+ * Every batch is written to the store directory as soon as it is formed, under
+ * pending/ until its receipt arrives and under anchored/ afterwards, and each
+ * analysisId is appended to a sharded index. Only the most recent batches are
+ * held in memory; older proofs are found through the index, and a restart only
+ * reloads the batches still waiting to be anchored.
+ */
+@Service
+public class AnalysisAnchoringService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisAnchoringService.class);
+
+    private static final String BATCH_FILE_SUFFIX = ".json";
+    private static final String PENDING_DIR = "pending";
+    private static final String ANCHORED_DIR = "anchored";
+    private static final String INDEX_DIR = "index";
+    private static final int INDEX_SHARDS = 256;
+
+    private final AnchorSubmitter submitter;
+    private final ObjectMapper objectMapper;
+    private final Path pendingDir;
+    private final Path anchoredDir;
+    private final Path indexDir;
+    private final int maxBatchSize;
+    private final int retainedBatches;
+
+    private final Queue<PendingLeaf> pending = new ConcurrentLinkedQueue<>();
+    private final Map<String, byte[]> queued = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final Map<String, LeafLocation> locations = new ConcurrentHashMap<>();
+    private final Map<String, AnchorBatch> batches = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<AnchorBatch> batchOrder = new ConcurrentLinkedDeque<>();
+    private final Object flushLock = new Object();
+
+    public AnalysisAnchoringService(
+            AnchorSubmitter submitter,
+            ObjectMapper objectMapper,
+            @Value("${hedera.anchoring.store-dir}") String storeDir,
+            @Value("${hedera.anchoring.max-batch-size}") int maxBatchSize,
+            @Value("${hedera.anchoring.retained-batches}") int retainedBatches) {
+
+        this.submitter = submitter;
+        this.objectMapper = objectMapper;
+        this.pendingDir = Path.of(storeDir, PENDING_DIR);
+        this.anchoredDir = Path.of(storeDir, ANCHORED_DIR);
+        this.indexDir = Path.of(storeDir, INDEX_DIR);
+        this.maxBatchSize = maxBatchSize;
+        this.retainedBatches = retainedBatches;
+
+        loadUnanchoredBatches();
+    }
+
+    /**
+     * Queue a served analysis response for anchoring
+     */
+    public void anchor(String analysisId, Object response) {
+        byte[] content;
+        try {
+            content = objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to serialize analysis {} for anchoring: ", analysisId, e);
+            return;
+        }
+
+        byte[] leafHash = MerkleTree.leafHash(content);
+        queued.put(analysisId, leafHash);
+        pending.offer(new PendingLeaf(analysisId, leafHash));
+        if (pendingCount.incrementAndGet() >= maxBatchSize && flushRequested.compareAndSet(false, true)) {
+            Schedulers.boundedElastic().schedule(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        }
+    }
+
+    /**
+     * Anchor partial batches that reached their maximum age and retry failed submissions
+     */
+    @Scheduled(
+        initialDelayString = "${hedera.anchoring.max-batch-age}",
+        fixedDelayString = "${hedera.anchoring.max-batch-age}"
+    )
+    public void flushScheduled() {
+        flush();
+        batchOrder.stream()
+                .filter(batch -> batch.status == AnchorStatus.FAILED)
+                .forEach(this::submit);
+    }
+
+    /**
+     * Inclusion proof for an analysis served by this replica. A result still
+     * waiting for its batch is reported as PENDING with its leaf hash only;
+     * empty means this replica never anchored the id.
+     */
+    public Optional<InclusionProofResponse> proof(String analysisId) {
+        byte[] queuedLeaf = queued.get(analysisId);
+        if (queuedLeaf != null) {
+            return Optional.of(new InclusionProofResponse(
+                analysisId, MerkleTree.hex(queuedLeaf), null, null, List.of(),
+                AnchorStatus.PENDING.name(), null, null, null
+            ));
+        }
+
+        LeafLocation location = locations.get(analysisId);
+        if (location == null) {
+            location = readIndex(analysisId);
+            if (location == null) {
+                return Optional.empty();
+            }
+        }
+
+        AnchorBatch batch = batches.get(location.batchId());
+        if (batch == null) {
+            batch = readStoredBatch(location.batchId());
+            if (batch == null) {
+                return Optional.empty();
+            }
+        }
+
+        var receipt = batch.receipt;
+        return Optional.of(new InclusionProofResponse(
+            analysisId,
+            MerkleTree.hex(batch.tree.leaf(location.index())),
+            batch.batchId,
+            MerkleTree.hex(batch.tree.root()),
+            batch.tree.proof(location.index()),
+            batch.status.name(),
+            receipt != null ? receipt.topicId() : null,
+            receipt != null ? receipt.transactionId() : null,
+            receipt != null ? receipt.sequenceNumber() : null
+        ));
+    }
+
+    /**
+     * Seal queued results into a stored batch on shutdown; it is submitted after the next start
+     */
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+    private void flush() {
+        synchronized (flushLock) {
+            while (!pending.isEmpty()) {
+                List<PendingLeaf> leaves = new ArrayList<>(Math.min(pendingCount.get(), maxBatchSize));
+                PendingLeaf leaf;
+                while (leaves.size() < maxBatchSize && (leaf = pending.poll()) != null) {
+                    leaves.add(leaf);
+                }
+                pendingCount.addAndGet(-leaves.size());
+
+                var tree = new MerkleTree(leaves.stream().map(PendingLeaf::leafHash).toList());
+                var batch = new AnchorBatch(
+                    UUID.randomUUID().toString(),
+                    System.currentTimeMillis(),
+                    tree,
+                    leaves.stream().map(PendingLeaf::analysisId).toList()
+                );
+                store(batch);
+                writeIndex(batch);
+                register(batch);
+                leaves.forEach(pendingLeaf -> queued.remove(pendingLeaf.analysisId()));
+
+                evictOldBatches();
+                submit(batch);
+            }
+        }
+    }
+
+    private void register(AnchorBatch batch) {
+        batches.put(batch.batchId, batch);
+        batchOrder.addLast(batch);
+        for (int i = 0; i < batch.analysisIds.size(); i++) {
+            locations.put(batch.analysisIds.get(i), new LeafLocation(batch.batchId, i));
+        }
+    }
+
+    private void submit(AnchorBatch batch) {
+        batch.status = AnchorStatus.SUBMITTING;
+        submitter.submit(batch.batchId, batch.tree.root(), batch.analysisIds.size())
+                .subscribe(
+                    receipt -> {
+                        batch.receipt = receipt;
+                        batch.status = AnchorStatus.ANCHORED;
+                        store(batch);
+                        logger.info("Anchored batch {} ({} results) as {} #{}",
+                                   batch.batchId, batch.analysisIds.size(), receipt.topicId(), receipt.sequenceNumber());
+                    },
+                    error -> {
+                        batch.status = AnchorStatus.FAILED;
+                        store(batch);
+                        logger.warn("Failed to anchor batch {}, will retry: {}", batch.batchId, error.toString());
+                    }
+                );
+    }
+
+    /**
+     * Drop the oldest anchored batches from memory; their proofs stay on disk.
+     * Batches still waiting for a receipt are kept so they can be retried.
+     */
+    private void evictOldBatches() {
+        Iterator<AnchorBatch> oldestFirst = batchOrder.iterator();
+        int inMemory = batchOrder.size();
+        while (inMemory > retainedBatches && oldestFirst.hasNext()) {
+            AnchorBatch batch = oldestFirst.next();
+            if (batch.status == AnchorStatus.ANCHORED) {
+                oldestFirst.remove();
+                batches.remove(batch.batchId);
+                batch.analysisIds.forEach(locations::remove);
+                inMemory--;
+            }
+        }
+    }
+
+    /**
+     * Write a batch under pending/ or, once anchored, under anchored/
+     */
+    private void store(AnchorBatch batch) {
+        var receipt = batch.receipt;
+        var stored = new StoredBatch(
+            batch.batchId,
+            batch.createdAt,
+            batch.analysisIds,
+            batch.leafHashes().stream().map(MerkleTree::hex).toList(),
+            batch.status.name(),
+            receipt != null ? receipt.topicId() : null,
+            receipt != null ? receipt.transactionId() : null,
+            receipt != null ? receipt.sequenceNumber() : null
+        );
+
+        boolean anchored = batch.status == AnchorStatus.ANCHORED;
+        Path dir = anchored ? anchoredDir : pendingDir;
+        try {
+            Files.createDirectories(dir);
+            Path target = dir.resolve(batch.batchId + BATCH_FILE_SUFFIX);
+            Path temp = dir.resolve(batch.batchId + BATCH_FILE_SUFFIX + ".tmp");
+            objectMapper.writeValue(temp.toFile(), stored);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (anchored) {
+                Files.deleteIfExists(pendingDir.resolve(batch.batchId + BATCH_FILE_SUFFIX));
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to store anchor batch {}: ", batch.batchId, e);
+        }
+    }
+
+    /**
+     * Append "analysisId batchId index" lines to the index shard of each id
+     */
+    private void writeIndex(AnchorBatch batch) {
+        Map<Path, StringBuilder> shards = new TreeMap<>();
+        for (int i = 0; i < batch.analysisIds.size(); i++) {
+            String analysisId = batch.analysisIds.get(i);
+            shards.computeIfAbsent(indexShard(analysisId), shard -> new StringBuilder())
+                    .append(analysisId).append(' ').append(batch.batchId).append(' ').append(i).append('\n');
+        }
+
+        try {
+            Files.createDirectories(indexDir);
+            for (var shard : shards.entrySet()) {
+                Files.writeString(shard.getKey(), shard.getValue(), StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to index anchor batch {}: ", batch.batchId, e);
+        }
+    }
+
+    private LeafLocation readIndex(String analysisId) {
+        String prefix = analysisId + " ";
+        try (Stream<String> lines = Files.lines(indexShard(analysisId), StandardCharsets.UTF_8)) {
+            return lines
+                    .filter(line -> line.startsWith(prefix))
+                    .map(line -> line.split(" "))
+                    // A line still being appended may be incomplete
+                    .filter(fields -> fields.length == 3 && !fields[2].isEmpty())
+                    .map(fields -> new LeafLocation(fields[1], Integer.parseInt(fields[2])))
+                    .reduce((first, second) -> second)
+                    .orElse(null);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Failed to read anchor index for {}: {}", analysisId, e.toString());
+            return null;
+        }
+    }
+
+    private Path indexShard(String analysisId) {
+        return indexDir.resolve(String.format("%02x.idx", Math.floorMod(analysisId.hashCode(), INDEX_SHARDS)));
+    }
+
+    /**
+     * Reload only the batches a restart interrupted; anchored ones stay on disk
+     */
+    private void loadUnanchoredBatches() {
+        if (!Files.isDirectory(pendingDir)) {
+            return;
+        }
+
+        List<AnchorBatch> unanchored = new ArrayList<>();
+        try (Stream<Path> files = Files.list(pendingDir)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(BATCH_FILE_SUFFIX)).toList()) {
+                // Stored as anchored just before the restart; only the pending copy was left behind
+                if (Files.exists(anchoredDir.resolve(file.getFileName()))) {
+                    Files.deleteIfExists(file);
+                    continue;
+                }
+                AnchorBatch batch = readBatch(file);
+                if (batch != null) {
+                    unanchored.add(batch);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to read unanchored batches from {}: ", pendingDir, e);
+            return;
+        }
+
+        unanchored.sort(Comparator.comparingLong(batch -> batch.createdAt));
+        for (AnchorBatch batch : unanchored) {
+            // A submission interrupted by the restart never produced a receipt; retry it
+            batch.status = AnchorStatus.FAILED;
+            register(batch);
+        }
+        if (!unanchored.isEmpty()) {
+            logger.info("Loaded {} unanchored batches from {} for retry", unanchored.size(), pendingDir);
+        }
+    }
+
+    private AnchorBatch readStoredBatch(String batchId) {
+        Path anchored = anchoredDir.resolve(batchId + BATCH_FILE_SUFFIX);
+        return readBatch(Files.exists(anchored) ? anchored : pendingDir.resolve(batchId + BATCH_FILE_SUFFIX));
+    }
+
+    private AnchorBatch readBatch(Path file) {
+        try {
+            StoredBatch stored = objectMapper.readValue(file.toFile(), StoredBatch.class);
+            var batch = new AnchorBatch(
+                stored.batchId(),
+                stored.createdAt(),
+                new MerkleTree(stored.leafHashes().stream().map(HexFormat.of()::parseHex).toList()),
+                stored.analysisIds()
+            );
+            batch.status = AnchorStatus.valueOf(stored.status());
+            if (stored.transactionId() != null) {
+                batch.receipt = new AnchorSubmitter.AnchorReceipt(
+                    stored.topicId(), stored.transactionId(), stored.sequenceNumber());
+            }
+            return batch;
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Skipping unreadable anchor batch {}: {}", file, e.toString());
+            return null;
+        }
+    }
+
+    private enum AnchorStatus {
+        PENDING, SUBMITTING, ANCHORED, FAILED
+    }
+
+    private record PendingLeaf(String analysisId, byte[] leafHash) {}
+
+    private record LeafLocation(String batchId, int index) {}
+
+    /**
+     * On-disk form of a batch; the tree is rebuilt from the leaf hashes
+     */
+    record StoredBatch(
+        String batchId,
+        long createdAt,
+        List<String> analysisIds,
+        List<String> leafHashes,
+        String status,
+        String topicId,
+        String transactionId,
+        Long sequenceNumber
+    ) {}
+
+    private static final class AnchorBatch {
+
+        private final String batchId;
+        private final long createdAt;
+        private final MerkleTree tree;
+        private final List<String> analysisIds;
+        private volatile AnchorStatus status = AnchorStatus.SUBMITTING;
+        private volatile AnchorSubmitter.AnchorReceipt receipt;
+
+        AnchorBatch(String batchId, long createdAt, MerkleTree tree, List<String> analysisIds) {
+            this.batchId = batchId;
+            this.createdAt = createdAt;
+            this.tree = tree;
+            this.analysisIds = analysisIds;
+        }
+
+        List<byte[]> leafHashes() {
+            List<byte[]> leaves = new ArrayList<>(analysisIds.size());
+            for (int i = 0; i < analysisIds.size(); i++) {
+                leaves.add(tree.leaf(i));
+            }
+            return leaves;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.syncsenta.ai.service;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Publishes Merkle roots of analysis batches to a tamper-evident log
+ */
+public interface AnchorSubmitter {
+
+    /**
+     * Submit one batch root; the returned receipt identifies the consensus message
+     */
+    Mono<AnchorReceipt> submit(String batchId, byte[] merkleRoot, int leafCount);
+
+    record AnchorReceipt(
+        String topicId,
+        String transactionId,
+        long sequenceNumber
+    ) {}
+}
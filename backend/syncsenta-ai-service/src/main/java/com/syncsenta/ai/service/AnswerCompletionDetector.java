@@ -0,0 +1,105 @@
+package com.syncsenta.ai.service;
+
+/**
+ * Detects the end of a tutor answer in a token stream.
+ *
+ * A tutor answer is complete once it asks its closing question. An opening
+ * question ("Did you know...?") is not a closing one, so a question only ends
+ * the answer after at least one statement, or once a good share of the token
+ * budget has been used. As a safety net a run of statements without any
+ * question is cut at a sentence boundary. One instance per stream; not thread-safe.
+ */
+final class AnswerCompletionDetector {
+
+    /** Keep the whole chunk and continue streaming */
+    static final int CONTINUE = -1;
+
+    private static final int CHARS_PER_TOKEN = 4;
+    private static final double CLOSING_QUESTION_BUDGET_SHARE = 0.5;
+    private static final int MAX_STATEMENTS_WITHOUT_QUESTION = 4;
+
+    private final int closingQuestionMinChars;
+    private int emittedChars;
+    private int statements;
+    private char previous;
+
+    AnswerCompletionDetector(int maxTokens) {
+        this.closingQuestionMinChars = (int) (maxTokens * CHARS_PER_TOKEN * CLOSING_QUESTION_BUDGET_SHARE);
+    }
+
+    /**
+     * @return {@link #CONTINUE}, or the number of leading characters of the
+     *         chunk to keep before the stream should end
+     */
+    int accept(String chunk) {
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            int answerChars = emittedChars + i + 1;
+
+            if (c == '?' && (statements > 0 || answerChars >= closingQuestionMinChars)) {
+                return endOfSentence(chunk, i + 1);
+            }
+            // A full stop only ends a statement once whitespace follows, so "3.5" stays intact
+            if (Character.isWhitespace(c) && (previous == '.' || previous == '!')) {
+                statements++;
+                if (statements >= MAX_STATEMENTS_WITHOUT_QUESTION) {
+                    emittedChars += i;
+                    return i;
+                }
+            }
+            previous = c;
+        }
+
+        emittedChars += chunk.length();
+        return CONTINUE;
+    }
+
+    int emittedChars() {
+        return emittedChars;
+    }
+
+    /**
+     * Drop a trailing partial sentence from a response cut off by max_tokens.
+     * Text that already ends a sentence, or contains no sentence end at all, is returned as is.
+     */
+    static String trimToCompleteSentence(String text) {
+        int lastTerminator = -1;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean endsSentence = i + 1 == text.length() || !Character.isLetterOrDigit(text.charAt(i + 1));
+            if ((c == '.' || c == '!' || c == '?') && endsSentence) {
+                lastTerminator = i;
+            }
+        }
+        if (lastTerminator < 0) {
+            return text;
+        }
+
+        int keep = extendOverTrailingSymbols(text, lastTerminator + 1);
+        if (keep >= text.length() || text.substring(keep).isBlank()) {
+            return text;
+        }
+        return text.substring(0, keep).stripTrailing();
+    }
+
+    /**
+     * Keep trailing emoji and closing punctuation that belong to the final sentence
+     */
+    private int endOfSentence(String chunk, int end) {
+        int keep = extendOverTrailingSymbols(chunk, end);
+        emittedChars += keep;
+        return chunk.substring(0, keep).stripTrailing().length();
+    }
+
+    private static int extendOverTrailingSymbols(String text, int end) {
+        int keep = end;
+        while (keep < text.length()) {
+            int codePoint = text.codePointAt(keep);
+            if (Character.isLetterOrDigit(codePoint)) {
+                break;
+            }
+            keep += Character.charCount(codePoint);
+        }
+        return keep;
+    }
+}
@@ -0,0 +1,267 @@
+package com.syncsenta.ai.service;
+
+import com.syncsenta.ai.config.ClusterProperties;
+import com.syncsenta.ai.dto.BroadcastRequest;
+import com.syncsenta.ai.dto.BroadcastResponse;
+import com.syncsenta.ai.dto.StudentContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Classroom broadcast: one upstream tutor stream fanned out to every student of a class.
+ *
+ * The upstream stream starts when the teacher opens the broadcast and is shared
+ * through a replay buffer, so late joiners first receive the tokens already
+ * emitted. Each subscriber drains at its own pace: while a device is not ready,
+ * its pending chunks are coalesced into one frame, and past a size limit the
+ * oldest are dropped, without ever slowing the upstream or other students.
+ *
+ * Behind a load balancer the teacher and the students of a class may reach
+ * different replicas. Each class has one owner replica on the consistent hash
+ * ring; the broadcast runs there and other replicas forward opens and relay
+ * the stream from it.
+ */
+@Service
+public class ClassroomBroadcastService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassroomBroadcastService.class);
+
+    static final String PEER_BROADCAST_PATH = "/internal/broadcast";
+
+    private static final ParameterizedTypeReference<ServerSentEvent<String>> FRAME_EVENT =
+            new ParameterizedTypeReference<>() {};
+
+    private final StudentTutorService tutorService;
+    private final ClusterMembership membership;
+    private final ClusterProperties properties;
+    private final WebClient peerClient;
+    private final String contextPath;
+    private final Map<String, BroadcastSession> sessions = new ConcurrentHashMap<>();
+    private final Counter droppedChunks;
+    private final int replayLimit;
+    private final int maxPendingChars;
+    private final Duration linger;
+
+    public ClassroomBroadcastService(
+            StudentTutorService tutorService,
+            ClusterMembership membership,
+            ClusterProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${broadcast.replay-limit}") int replayLimit,
+            @Value("${broadcast.max-pending-chars}") int maxPendingChars,
+            @Value("${broadcast.linger}") Duration linger,
+            @Value("${server.servlet.context-path:}") String contextPath) {
+
+        this.tutorService = tutorService;
+        this.membership = membership;
+        this.properties = properties;
+        this.contextPath = contextPath;
+        this.peerClient = WebClient.builder().build();
+        this.replayLimit = replayLimit;
+        this.maxPendingChars = maxPendingChars;
+        this.linger = linger;
+        this.droppedChunks = Counter.builder("tutor.broadcast.chunks.dropped")
+                .description("Broadcast chunks dropped for subscribers that fell too far behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Open a broadcast for a class on its owner replica, replacing any previous one.
+     * When the owner cannot be reached the broadcast is opened here instead.
+     */
+    public Mono<BroadcastResponse> open(String classId, String message, StudentContext context) {
+        String owner = membership.owner(classId);
+        if (membership.isSelf(owner)) {
+            return Mono.just(openLocal(classId, message, context));
+        }
+
+        return peerClient.post()
+                .uri("http://" + owner + contextPath + PEER_BROADCAST_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(ClusteredAnalysisCache.SHARED_SECRET_HEADER, properties.sharedSecret())
+                .bodyValue(new BroadcastRequest(classId, message, context))
+                .retrieve()
+                .bodyToMono(BroadcastResponse.class)
+                .timeout(properties.lookupTimeout())
+                .onErrorResume(error -> {
+                    logger.warn("Cluster peer {} unavailable ({}), opening broadcast for class {} locally",
+                               owner, error.toString(), classId);
+                    return Mono.just(openLocal(classId, message, context));
+                });
+    }
+
+    /**
+     * Open a broadcast on this replica, replacing any previous one.
+     * Students already following the previous broadcast keep receiving it to the end.
+     */
+    public BroadcastResponse openLocal(String classId, String message, StudentContext context) {
+        Flux<String> shared = tutorService.createTutorResponseStream(message, context)
+                .replay(replayLimit)
+                .autoConnect(0);
+
+        var session = new BroadcastSession(UUID.randomUUID().toString(), classId, shared);
+        var previous = sessions.put(classId, session);
+        if (previous != null) {
+            logger.info("Replacing broadcast {} for class {}", previous.broadcastId(), classId);
+        }
+
+        // Keep the finished broadcast around for late joiners, then forget it
+        shared.then()
+                .onErrorResume(error -> Mono.empty())
+                .then(Mono.delay(linger))
+                .subscribe(ignored -> sessions.remove(classId, session));
+
+        logger.info("Opened broadcast {} for class {}", session.broadcastId(), classId);
+        return new BroadcastResponse(classId, session.broadcastId(), System.currentTimeMillis());
+    }
+
+    /**
+     * Subscribe a student to the current broadcast of a class, relayed from the
+     * owner replica when it runs elsewhere; empty when the class has none
+     */
+    public Mono<Flux<String>> subscribe(String classId) {
+        String owner = membership.owner(classId);
+        if (membership.isSelf(owner)) {
+            return Mono.justOrEmpty(subscribeLocal(classId));
+        }
+
+        return peerClient.get()
+                .uri("http://" + owner + contextPath + PEER_BROADCAST_PATH + "/{classId}", classId)
+                .header(ClusteredAnalysisCache.SHARED_SECRET_HEADER, properties.sharedSecret())
+                .retrieve()
+                .bodyToMono(BroadcastResponse.class)
+                .timeout(properties.lookupTimeout())
+                .map(broadcast -> coalescing(relayFromOwner(owner, classId)))
+                .onErrorResume(WebClientResponseException.NotFound.class, error -> Mono.empty())
+                .onErrorResume(error -> {
+                    // A broadcast opened here while the owner was unreachable
+                    logger.warn("Cluster peer {} unavailable for broadcast of class {}: {}", owner, classId, error.toString());
+                    return Mono.justOrEmpty(subscribeLocal(classId));
+                });
+    }
+
+    /**
+     * Subscribe to a broadcast running on this replica
+     */
+    public Optional<Flux<String>> subscribeLocal(String classId) {
+        return Optional.ofNullable(sessions.get(classId))
+                .map(session -> coalescing(session.frames()));
+    }
+
+    /**
+     * The broadcast running on this replica, if any
+     */
+    public Optional<BroadcastResponse> localBroadcast(String classId) {
+        return Optional.ofNullable(sessions.get(classId))
+                .map(session -> new BroadcastResponse(classId, session.broadcastId(), System.currentTimeMillis()));
+    }
+
+    private Flux<String> relayFromOwner(String owner, String classId) {
+        return peerClient.get()
+                .uri("http://" + owner + contextPath + PEER_BROADCAST_PATH + "/{classId}/stream", classId)
+                .header(ClusteredAnalysisCache.SHARED_SECRET_HEADER, properties.sharedSecret())
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .retrieve()
+                .bodyToFlux(FRAME_EVENT)
+                .mapNotNull(ServerSentEvent::data);
+    }
+
+    /**
+     * Per-subscriber view of the shared stream. The source is consumed without
+     * backpressure; chunks queue up locally and are merged into a single frame
+     * whenever the subscriber requests more.
+     */
+    Flux<String> coalescing(Flux<String> source) {
+        return Flux.create(sink -> {
+            Queue<String> pending = new ConcurrentLinkedQueue<>();
+            var pendingChars = new AtomicInteger();
+            var wip = new AtomicInteger();
+            var terminal = new AtomicReference<Throwable>();
+            var done = new AtomicBoolean();
+
+            Runnable drain = () -> {
+                if (wip.getAndIncrement() != 0) {
+                    return;
+                }
+                do {
+                    if (sink.requestedFromDownstream() > 0 && !pending.isEmpty()) {
+                        var frame = new StringBuilder();
+                        String chunk;
+                        while ((chunk = pending.poll()) != null) {
+                            pendingChars.addAndGet(-chunk.length());
+                            frame.append(chunk);
+                        }
+                        sink.next(frame.toString());
+                    }
+                    if (done.get() && pending.isEmpty()) {
+                        if (terminal.get() != null) {
+                            sink.error(terminal.get());
+                        } else {
+                            sink.complete();
+                        }
+                        return;
+                    }
+                } while (wip.decrementAndGet() != 0);
+            };
+
+            sink.onRequest(requested -> drain.run());
+
+            Disposable subscription = source.subscribe(
+                chunk -> {
+                    pending.offer(chunk);
+                    if (pendingChars.addAndGet(chunk.length()) > maxPendingChars) {
+                        String dropped;
+                        while (pendingChars.get() > maxPendingChars && (dropped = pending.poll()) != null) {
+                            pendingChars.addAndGet(-dropped.length());
+                            droppedChunks.increment();
+                        }
+                    }
+                    drain.run();
+                },
+                error -> {
+                    terminal.set(error);
+                    done.set(true);
+                    drain.run();
+                },
+                () -> {
+                    done.set(true);
+                    drain.run();
+                }
+            );
+
+            sink.onDispose(subscription);
+        });
+    }
+
+    /**
+     * A running or recently finished broadcast
+     */
+    public record BroadcastSession(
+        String broadcastId,
+        String classId,
+        Flux<String> frames
+    ) {}
+}
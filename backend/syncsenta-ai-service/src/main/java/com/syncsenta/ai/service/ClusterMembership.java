@@ -0,0 +1,129 @@
+package com.syncsenta.ai.service;
+
+import com.syncsenta.ai.config.ClusterProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Peer group of service replicas, from a static member list or a DNS name
+ * resolving to every replica. Members are addressed as host:port.
+ */
+@Service
+public class ClusterMembership {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusterMembership.class);
+
+    private final ClusterProperties properties;
+    private final String self;
+    private final int serverPort;
+    private volatile ConsistentHashRing ring;
+
+    public ClusterMembership(ClusterProperties properties, @Value("${server.port}") int serverPort) {
+        this.properties = properties;
+        this.serverPort = serverPort;
+        this.self = properties.self() != null && !properties.self().isBlank()
+                ? properties.self().trim()
+                : defaultSelf(serverPort);
+
+        boolean peersConfigured = !properties.members().isEmpty()
+                || (properties.dnsName() != null && !properties.dnsName().isBlank());
+        if (peersConfigured && !properties.hasSharedSecret()) {
+            throw new IllegalStateException(
+                "cluster.shared-secret must be set when cluster.members or cluster.dns-name is configured");
+        }
+
+        refresh();
+        logger.info("Cluster member {} joined peer group {}", self, ring.members());
+    }
+
+    public String self() {
+        return self;
+    }
+
+    public List<String> members() {
+        return ring.members();
+    }
+
+    public boolean isClustered() {
+        return ring.members().size() > 1;
+    }
+
+    public String owner(String key) {
+        return ring.owner(key);
+    }
+
+    public boolean isSelf(String member) {
+        return self.equals(member);
+    }
+
+    /**
+     * Whether a request to the internal peer API carries the cluster secret.
+     * Without a configured secret there are no peers, so every request is refused.
+     */
+    public boolean isAuthorizedPeer(String secret) {
+        if (!properties.hasSharedSecret() || secret == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(
+            properties.sharedSecret().getBytes(StandardCharsets.UTF_8),
+            secret.getBytes(StandardCharsets.UTF_8)
+        );
+    }
+
+    /**
+     * Re-resolve DNS members; a static member list never changes
+     */
+    @Scheduled(
+        initialDelayString = "${cluster.refresh-interval}",
+        fixedDelayString = "${cluster.refresh-interval}"
+    )
+    public void refresh() {
+        Set<String> members = new LinkedHashSet<>(properties.members());
+        members.addAll(resolveDnsMembers());
+        // This replica always takes part, even before DNS lists it
+        members.add(self);
+
+        var current = ring;
+        if (current == null || !current.members().equals(members.stream().sorted().toList())) {
+            ring = new ConsistentHashRing(members, properties.virtualNodes());
+            if (current != null) {
+                logger.info("Cluster membership changed to {}", ring.members());
+            }
+        }
+    }
+
+    private List<String> resolveDnsMembers() {
+        if (properties.dnsName() == null || properties.dnsName().isBlank()) {
+            return List.of();
+        }
+
+        try {
+            return Arrays.stream(InetAddress.getAllByName(properties.dnsName()))
+                    .map(address -> address.getHostAddress() + ":" + serverPort)
+                    .toList();
+        } catch (UnknownHostException e) {
+            logger.warn("Failed to resolve cluster DNS name {}: {}", properties.dnsName(), e.getMessage());
+            return ring != null ? ring.members() : List.of();
+        }
+    }
+
+    private static String defaultSelf(int serverPort) {
+        try {
+            return InetAddress.getLocalHost().getHostAddress() + ":" + serverPort;
+        } catch (UnknownHostException e) {
+            return "localhost:" + serverPort;
+        }
+    }
+}
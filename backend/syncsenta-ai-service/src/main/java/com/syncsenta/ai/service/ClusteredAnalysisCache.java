@@ -0,0 +1,202 @@
+package com.syncsenta.ai.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.syncsenta.ai.config.ClusterProperties;
+import com.syncsenta.ai.dto.AnalysisRequest.AnalysisType;
+import com.syncsenta.ai.dto.PeerAnalysisRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Analysis result cache shared across replicas.
+ *
+ * Every cache key has one owner replica on the consistent hash ring. The owner
+ * computes each result once; other replicas forward the computation to it and
+ * keep a near-cache copy. When the owner cannot be reached the result is
+ * computed locally, so a peer outage only costs duplicate work.
+ */
+@Service
+public class ClusteredAnalysisCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusteredAnalysisCache.class);
+
+    public static final String SHARED_SECRET_HEADER = "X-Cluster-Secret";
+    static final String PEER_ANALYSIS_PATH = "/internal/cache/analysis";
+    private static final Duration PEER_TIMEOUT_MARGIN = Duration.ofSeconds(5);
+
+    private final HederaAiClientService hederaClient;
+    private final ClusterMembership membership;
+    private final ClusterProperties properties;
+    private final ObjectMapper keyMapper;
+    private final WebClient peerClient;
+    private final String contextPath;
+    private final LocalStore localStore;
+    private final Duration peerTimeout;
+    private final Map<String, Mono<String>> inFlight = new ConcurrentHashMap<>();
+
+    public ClusteredAnalysisCache(
+            HederaAiClientService hederaClient,
+            ClusterMembership membership,
+            ClusterProperties properties,
+            ObjectMapper objectMapper,
+            @Value("${server.servlet.context-path:}") String contextPath) {
+
+        this.hederaClient = hederaClient;
+        this.membership = membership;
+        this.properties = properties;
+        this.contextPath = contextPath;
+        this.keyMapper = objectMapper.copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        this.localStore = new LocalStore(properties.cache().maxEntries(), properties.cache().ttl());
+        this.peerTimeout = peerTimeout(properties.peerTimeout(), hederaClient.maxFailoverDuration());
+        this.peerClient = WebClient.builder()
+                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024))
+                .build();
+    }
+
+    /**
+     * Cached equivalent of {@link HederaAiClientService#analysisCompletion}
+     */
+    public Mono<String> analysisCompletion(String systemPrompt, String userQuery, Map<String, Object> contextData,
+                                           AnalysisType analysisType) {
+        var request = new PeerAnalysisRequest(systemPrompt, userQuery, contextData, analysisType);
+        String key = cacheKey(request);
+
+        String cached = localStore.get(key);
+        if (cached != null) {
+            logger.debug("Analysis cache hit for {}", key);
+            return Mono.just(cached);
+        }
+
+        String owner = membership.owner(key);
+        if (membership.isSelf(owner)) {
+            return computeAsOwner(key, request);
+        }
+
+        return fetchFromOwner(owner, request)
+                .doOnNext(result -> storeIfUsable(key, result))
+                .onErrorResume(error -> {
+                    logger.warn("Cluster peer {} unavailable ({}), computing analysis locally", owner, error.toString());
+                    return computeAsOwner(key, request);
+                });
+    }
+
+    /**
+     * Compute on this replica, joining an identical computation already in flight.
+     * Called for keys this replica owns and for requests forwarded by peers.
+     */
+    public Mono<String> computeAsOwner(PeerAnalysisRequest request) {
+        String key = cacheKey(request);
+
+        String cached = localStore.get(key);
+        return cached != null ? Mono.just(cached) : computeAsOwner(key, request);
+    }
+
+    private Mono<String> computeAsOwner(String key, PeerAnalysisRequest request) {
+        return inFlight.computeIfAbsent(key, k -> hederaClient
+                .analysisCompletion(request.systemPrompt(), request.query(), request.contextData(), request.analysisType())
+                .doOnNext(result -> storeIfUsable(k, result))
+                .doFinally(signal -> inFlight.remove(k))
+                .cache());
+    }
+
+    private void storeIfUsable(String key, String result) {
+        if (!HederaAiClientService.ANALYSIS_UNAVAILABLE.equals(result)) {
+            localStore.put(key, result);
+        }
+    }
+
+    private Mono<String> fetchFromOwner(String owner, PeerAnalysisRequest request) {
+        return peerClient.post()
+                .uri("http://" + owner + contextPath + PEER_ANALYSIS_PATH)
+                .contentType(MediaType.APPLICATION_JSON)
+                .headers(headers -> {
+                    if (properties.hasSharedSecret()) {
+                        headers.set(SHARED_SECRET_HEADER, properties.sharedSecret());
+                    }
+                })
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(peerTimeout);
+    }
+
+    /**
+     * The owner may fail over through every upstream endpoint before it answers.
+     * Giving up on it earlier would only start the same computation a second time.
+     */
+    private static Duration peerTimeout(Duration configured, Duration ownerFailover) {
+        Duration required = ownerFailover.plus(PEER_TIMEOUT_MARGIN);
+        if (configured.compareTo(required) >= 0) {
+            return configured;
+        }
+        logger.info("Raising cluster.peer-timeout from {}s to {}s to cover upstream failover on the owner",
+                configured.toSeconds(), required.toSeconds());
+        return required;
+    }
+
+    private String cacheKey(PeerAnalysisRequest request) {
+        try {
+            // Convert to plain maps first so records and forwarded JSON hash identically
+            byte[] canonical = keyMapper.writeValueAsBytes(keyMapper.convertValue(request, Map.class));
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(canonical));
+        } catch (JsonProcessingException | IllegalArgumentException | NoSuchAlgorithmException e) {
+            // Fall back to a key that is still stable within this replica
+            logger.warn("Failed to build canonical cache key: ", e);
+            return Integer.toHexString(String.valueOf(request).hashCode());
+        }
+    }
+
+    /**
+     * Bounded LRU map with a fixed time to live per entry
+     */
+    private static final class LocalStore {
+
+        private final int maxEntries;
+        private final long ttlNanos;
+        private final LinkedHashMap<String, Entry> entries;
+
+        LocalStore(int maxEntries, Duration ttl) {
+            this.maxEntries = maxEntries;
+            this.ttlNanos = ttl.toNanos();
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                    return size() > LocalStore.this.maxEntries;
+                }
+            };
+        }
+
+        synchronized String get(String key) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.expiresAtNanos() > 0) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+
+        synchronized void put(String key, String value) {
+            entries.put(key, new Entry(value, System.nanoTime() + ttlNanos));
+        }
+
+        private record Entry(String value, long expiresAtNanos) {}
+    }
+}
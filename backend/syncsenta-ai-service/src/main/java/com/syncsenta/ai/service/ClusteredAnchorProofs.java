@@ -0,0 +1,78 @@
+package com.syncsenta.ai.service;
+
+import com.syncsenta.ai.config.ClusterProperties;
+import com.syncsenta.ai.dto.InclusionProofResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Inclusion proof lookup across replicas.
+ *
+ * A result is anchored by the replica that served it, so a proof missing here
+ * is asked for from every other member of the peer group.
+ */
+@Service
+public class ClusteredAnchorProofs {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClusteredAnchorProofs.class);
+
+    static final String PEER_ANCHOR_PATH = "/internal/anchors/";
+
+    private final AnalysisAnchoringService anchoringService;
+    private final ClusterMembership membership;
+    private final ClusterProperties properties;
+    private final WebClient peerClient;
+    private final String contextPath;
+
+    public ClusteredAnchorProofs(
+            AnalysisAnchoringService anchoringService,
+            ClusterMembership membership,
+            ClusterProperties properties,
+            @Value("${server.servlet.context-path:}") String contextPath) {
+
+        this.anchoringService = anchoringService;
+        this.membership = membership;
+        this.properties = properties;
+        this.contextPath = contextPath;
+        this.peerClient = WebClient.builder().build();
+    }
+
+    /**
+     * Proof from this replica, or from the peer that anchored the result
+     */
+    public Mono<Optional<InclusionProofResponse>> proof(String analysisId) {
+        var local = anchoringService.proof(analysisId);
+        if (local.isPresent() || !membership.isClustered()) {
+            return Mono.just(local);
+        }
+
+        return Flux.fromIterable(membership.members())
+                .filter(member -> !membership.isSelf(member))
+                .flatMap(member -> fetchFromPeer(member, analysisId))
+                .next()
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+    }
+
+    private Mono<InclusionProofResponse> fetchFromPeer(String member, String analysisId) {
+        return peerClient.get()
+                .uri("http://" + member + contextPath + PEER_ANCHOR_PATH + "{analysisId}", analysisId)
+                .header(ClusteredAnalysisCache.SHARED_SECRET_HEADER, properties.sharedSecret())
+                .retrieve()
+                .bodyToMono(InclusionProofResponse.class)
+                .timeout(properties.lookupTimeout())
+                .onErrorResume(WebClientResponseException.NotFound.class, error -> Mono.empty())
+                .onErrorResume(error -> {
+                    logger.warn("Cluster peer {} unavailable for anchor lookup: {}", member, error.toString());
+                    return Mono.empty();
+                });
+    }
+}
@@ -0,0 +1,51 @@
+package com.syncsenta.ai.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable consistent hash ring with virtual nodes.
+ * Adding or removing one member only moves the keys that member owned.
+ */
+final class ConsistentHashRing {
+
+    private final NavigableMap<Long, String> ring;
+    private final List<String> members;
+
+    ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        this.members = members.stream().distinct().sorted().toList();
+
+        NavigableMap<Long, String> nodes = new TreeMap<>();
+        for (String member : this.members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                nodes.put(hash(member + "#" + i), member);
+            }
+        }
+        this.ring = nodes;
+    }
+
+    String owner(String key) {
+        Map.Entry<Long, String> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    List<String> members() {
+        return members;
+    }
+
+    private static long hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest, 0, Long.BYTES).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
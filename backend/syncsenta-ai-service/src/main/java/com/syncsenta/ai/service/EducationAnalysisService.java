@@ -1,12 +1,15 @@
 package com.syncsenta.ai.service;
 
+import com.syncsenta.ai.dto.AnalysisRequest.AnalysisType;
 import com.syncsenta.ai.dto.EquityAnalysisResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  * Service for educational analysis and insights
@@ -16,10 +19,12 @@ public class EducationAnalysisService {
     
     private static final Logger logger = LoggerFactory.getLogger(EducationAnalysisService.class);
     
-    private final HederaAiClientService hederaClient;
+    private final ClusteredAnalysisCache analysisCache;
+    private final TutorEngagementAggregator engagementAggregator;
     
-    public EducationAnalysisService(HederaAiClientService hederaClient) {
-        this.hederaClient = hederaClient;
+    public EducationAnalysisService(ClusteredAnalysisCache analysisCache, TutorEngagementAggregator engagementAggregator) {
+        this.analysisCache = analysisCache;
+        this.engagementAggregator = engagementAggregator;
     }
     
     /**
@@ -44,13 +49,13 @@ public class EducationAnalysisService {
         
         logger.info("Generating school head analysis for query: {}", query);
         
-        return hederaClient.analysisCompletion(systemPrompt, query, schoolData);
+        return analysisCache.analysisCompletion(systemPrompt, query, schoolData, AnalysisType.SCHOOL_HEAD_OPERATIONAL);
     }
     
     /**
-     * Generate teacher performance insights
+     * Generate teacher performance insights, enriched with live tutor engagement statistics
      */
-    public Mono<String> generateTeacherInsights(String query, Map<String, Object> classData) {
+    public Mono<String> generateTeacherInsights(String schoolId, String query, Map<String, Object> classData) {
         String systemPrompt = """
             You are an AI education consultant specializing in teacher support and classroom optimization.
             Analyze the provided class data to help teachers improve student engagement and learning outcomes.
@@ -65,9 +70,20 @@ public class EducationAnalysisService {
             Provide practical, classroom-ready suggestions that teachers can implement immediately.
             """;
         
-        logger.info("Generating teacher insights for query: {}", query);
+        Map<String, Object> contextData = new HashMap<>();
+        if (classData != null) {
+            contextData.putAll(classData);
+        }
+        
+        var engagementStats = engagementAggregator.statsForSchool(schoolId);
+        if (!engagementStats.isEmpty()) {
+            contextData.put("tutorEngagement", engagementStats);
+        }
+        
+        logger.info("Generating teacher insights for query: {} ({} classes with tutor statistics)", 
+                   query, engagementStats.size());
         
-        return hederaClient.analysisCompletion(systemPrompt, query, classData);
+        return analysisCache.analysisCompletion(systemPrompt, query, contextData, AnalysisType.TEACHER_PERFORMANCE);
     }
     
     /**
@@ -99,11 +115,12 @@ public class EducationAnalysisService {
         
         logger.info("Generating equity analysis for county: {}", county);
         
-        return hederaClient.analysisCompletion(systemPrompt, query, Map.of("county", county))
+        return analysisCache.analysisCompletion(systemPrompt, query, Map.of("county", county), AnalysisType.COUNTY_EQUITY)
                 .map(this::parseEquityResponse)
                 .onErrorReturn(new EquityAnalysisResponse(
                     java.util.List.of(), 
-                    System.currentTimeMillis()
+                    System.currentTimeMillis(),
+                    UUID.randomUUID().toString()
                 ));
     }
     
@@ -128,7 +145,7 @@ public class EducationAnalysisService {
         
         logger.info("Generating county strategic analysis for query: {}", query);
         
-        return hederaClient.analysisCompletion(systemPrompt, query, countyData);
+        return analysisCache.analysisCompletion(systemPrompt, query, countyData, AnalysisType.COUNTY_STRATEGIC);
     }
     
     private EquityAnalysisResponse parseEquityResponse(String jsonResponse) {
@@ -146,11 +163,11 @@ public class EducationAnalysisService {
                 new EquityAnalysisResponse.HeatmapData("South Ward", "low", 54.2, "strong")
             );
             
-            return new EquityAnalysisResponse(mockHeatmapData, System.currentTimeMillis());
+            return new EquityAnalysisResponse(mockHeatmapData, System.currentTimeMillis(), UUID.randomUUID().toString());
             
         } catch (Exception e) {
             logger.error("Failed to parse equity analysis response: ", e);
-            return new EquityAnalysisResponse(java.util.List.of(), System.currentTimeMillis());
+            return new EquityAnalysisResponse(java.util.List.of(), System.currentTimeMillis(), UUID.randomUUID().toString());
         }
     }
 }
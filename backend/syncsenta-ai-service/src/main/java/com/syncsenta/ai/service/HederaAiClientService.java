@@ -2,112 +2,134 @@ package com.syncsenta.ai.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syncsenta.ai.dto.AnalysisRequest.AnalysisType;
+import com.syncsenta.ai.service.AiModelRouter.UpstreamEndpoint;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 /**
- * Service for integrating with Hedera Moonscape AI Agent
+ * Service for integrating with Hedera Moonscape AI Agent.
+ * Each call is routed through {@link AiModelRouter} and fails over to the next
+ * upstream endpoint on error or timeout.
  */
 @Service
 public class HederaAiClientService {
     
     private static final Logger logger = LoggerFactory.getLogger(HederaAiClientService.class);
     
-    private final WebClient webClient;
+    /** Fallback answers when every upstream failed; never worth caching or counting as real answers */
+    public static final String ANALYSIS_UNAVAILABLE = "Unable to complete analysis at this time. Please try again.";
+    public static final String CHAT_UNAVAILABLE = "Sorry, I'm having trouble thinking right now. Please try again.";
+    public static final String STREAM_UNAVAILABLE = "Sorry, I had trouble with that. Could you ask again?";
+    
+    private final AiModelRouter router;
     private final ObjectMapper objectMapper;
+    private final Duration timeout;
     private final int maxTokens;
     private final double temperature;
     
     public HederaAiClientService(
-            @Value("${hedera.ai.base-url}") String baseUrl,
-            @Value("${hedera.ai.api-key}") String apiKey,
+            AiModelRouter router,
             @Value("${hedera.ai.timeout}") Duration timeout,
             @Value("${hedera.ai.max-tokens}") int maxTokens,
             @Value("${hedera.ai.temperature}") double temperature,
             ObjectMapper objectMapper) {
         
+        this.router = router;
+        this.timeout = timeout;
         this.maxTokens = maxTokens;
         this.temperature = temperature;
         this.objectMapper = objectMapper;
         
-        this.webClient = WebClient.builder()
-                .baseUrl(baseUrl)
-                .defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + apiKey)
-                .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024))
-                .build();
-        
-        logger.info("Hedera AI Client initialized with base URL: {}", baseUrl);
+        logger.info("Hedera AI Client initialized with {}s per-attempt timeout", timeout.toSeconds());
+    }
+    
+    /**
+     * Longest a single call can take when every upstream endpoint times out in turn
+     */
+    public Duration maxFailoverDuration() {
+        return timeout.multipliedBy(router.endpointCount());
     }
     
     /**
-     * Send a chat completion request to Hedera Moonscape AI
+     * Send a chat completion request to Hedera Moonscape AI.
+     * The requested max tokens are capped at the configured hedera.ai.max-tokens.
      */
-    public Mono<String> chatCompletion(String systemPrompt, String userMessage) {
-        var requestBody = Map.of(
-            "model", "hedera-moonscape-chat",
-            "messages", new Object[] {
-                Map.of("role", "system", "content", systemPrompt),
-                Map.of("role", "user", "content", userMessage)
-            },
-            "max_tokens", maxTokens,
-            "temperature", temperature,
-            "stream", false
-        );
+    public Mono<ChatReply> chatCompletion(String systemPrompt, String userMessage, int gradeLevel, int maxTokens) {
+        var hints = RoutingHints.forTutor(gradeLevel, systemPrompt, userMessage);
         
-        return webClient.post()
-                .uri("/chat/completions")
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(JsonNode.class)
-                .map(this::extractChatResponse)
+        return withFailover(hints, router.candidates(hints), 0, endpoint -> {
+                    var requestBody = Map.of(
+                        "model", endpoint.config().chatModel(),
+                        "messages", new Object[] {
+                            Map.of("role", "system", "content", systemPrompt),
+                            Map.of("role", "user", "content", userMessage)
+                        },
+                        "max_tokens", Math.min(maxTokens, this.maxTokens),
+                        "temperature", temperature,
+                        "stream", false
+                    );
+                    
+                    return endpoint.webClient().post()
+                            .uri("/chat/completions")
+                            .bodyValue(requestBody)
+                            .retrieve()
+                            .bodyToMono(JsonNode.class);
+                })
+                .map(this::extractChatReply)
                 .doOnError(error -> logger.error("Error calling Hedera AI: ", error))
-                .onErrorReturn("Sorry, I'm having trouble thinking right now. Please try again.");
+                .onErrorReturn(new ChatReply(CHAT_UNAVAILABLE, null, null));
     }
     
     /**
-     * Send a streaming chat completion request
+     * Send a streaming chat completion request.
+     * Cancelling the returned Flux cancels the upstream connection.
      */
-    public Flux<String> chatCompletionStream(String systemPrompt, String userMessage) {
-        var requestBody = Map.of(
-            "model", "hedera-moonscape-chat",
-            "messages", new Object[] {
-                Map.of("role", "system", "content", systemPrompt),
-                Map.of("role", "user", "content", userMessage)
-            },
-            "max_tokens", maxTokens,
-            "temperature", temperature,
-            "stream", true
-        );
+    public Flux<String> chatCompletionStream(String systemPrompt, String userMessage, int gradeLevel, int maxTokens) {
+        var hints = RoutingHints.forTutorStream(gradeLevel, systemPrompt, userMessage);
         
-        return webClient.post()
-                .uri("/chat/completions")
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToFlux(String.class)
+        return streamWithFailover(hints, router.candidates(hints), 0, endpoint -> {
+                    var requestBody = Map.of(
+                        "model", endpoint.config().chatModel(),
+                        "messages", new Object[] {
+                            Map.of("role", "system", "content", systemPrompt),
+                            Map.of("role", "user", "content", userMessage)
+                        },
+                        "max_tokens", Math.min(maxTokens, this.maxTokens),
+                        "temperature", temperature,
+                        "stream", true
+                    );
+                    
+                    return endpoint.webClient().post()
+                            .uri("/chat/completions")
+                            .bodyValue(requestBody)
+                            .retrieve()
+                            .bodyToFlux(String.class);
+                })
                 .filter(line -> line.startsWith("data: "))
                 .map(line -> line.substring(6))
                 .filter(data -> !data.equals("[DONE]"))
                 .map(this::extractStreamingResponse)
                 .filter(text -> !text.isEmpty())
                 .doOnError(error -> logger.error("Error in streaming chat: ", error))
-                .onErrorReturn("Sorry, I had trouble with that. Could you ask again?");
+                .onErrorReturn(STREAM_UNAVAILABLE);
     }
     
     /**
      * Send an analysis request for structured data analysis
      */
-    public Mono<String> analysisCompletion(String systemPrompt, String userQuery, Map<String, Object> contextData) {
+    public Mono<String> analysisCompletion(String systemPrompt, String userQuery, Map<String, Object> contextData,
+                                           AnalysisType analysisType) {
         String contextJson = "";
         try {
             contextJson = objectMapper.writeValueAsString(contextData);
@@ -123,36 +145,82 @@ public class HederaAiClientService {
             %s
             """, contextJson, userQuery);
         
-        var requestBody = Map.of(
-            "model", "hedera-moonscape-analyst",
-            "messages", new Object[] {
-                Map.of("role", "system", "content", systemPrompt),
-                Map.of("role", "user", "content", fullPrompt)
-            },
-            "max_tokens", maxTokens * 2, // Analysis needs more tokens
-            "temperature", temperature * 0.8 // Less creative for analysis
-        );
+        var hints = RoutingHints.forAnalysis(analysisType, systemPrompt, fullPrompt);
         
-        return webClient.post()
-                .uri("/chat/completions")
-                .bodyValue(requestBody)
-                .retrieve()
-                .bodyToMono(JsonNode.class)
-                .map(this::extractChatResponse)
+        return withFailover(hints, router.candidates(hints), 0, endpoint -> {
+                    var requestBody = Map.of(
+                        "model", endpoint.config().analystModel(),
+                        "messages", new Object[] {
+                            Map.of("role", "system", "content", systemPrompt),
+                            Map.of("role", "user", "content", fullPrompt)
+                        },
+                        "max_tokens", maxTokens * 2, // Analysis needs more tokens
+                        "temperature", temperature * 0.8 // Less creative for analysis
+                    );
+                    
+                    return endpoint.webClient().post()
+                            .uri("/chat/completions")
+                            .bodyValue(requestBody)
+                            .retrieve()
+                            .bodyToMono(JsonNode.class);
+                })
+                .map(response -> extractChatReply(response).content())
                 .doOnError(error -> logger.error("Error in analysis completion: ", error))
-                .onErrorReturn("Unable to complete analysis at this time. Please try again.");
+                .onErrorReturn(ANALYSIS_UNAVAILABLE);
     }
     
-    private String extractChatResponse(JsonNode response) {
+    /**
+     * Try each candidate endpoint in turn until one answers
+     */
+    private <T> Mono<T> withFailover(RoutingHints hints, List<UpstreamEndpoint> candidates, int index,
+                                     Function<UpstreamEndpoint, Mono<T>> call) {
+        var endpoint = candidates.get(index);
+        
+        return router.track(endpoint, hints.latencyClass(), Mono.defer(() -> call.apply(endpoint)).timeout(timeout))
+                .onErrorResume(error -> {
+                    if (index + 1 >= candidates.size()) {
+                        return Mono.error(error);
+                    }
+                    logger.warn("AI upstream '{}' failed ({}), failing over to '{}'", 
+                               endpoint.config().name(), error.toString(), candidates.get(index + 1).config().name());
+                    return withFailover(hints, candidates, index + 1, call);
+                });
+    }
+    
+    /**
+     * Streaming failover; only possible until the first chunk has reached the caller
+     */
+    private <T> Flux<T> streamWithFailover(RoutingHints hints, List<UpstreamEndpoint> candidates, int index,
+                                           Function<UpstreamEndpoint, Flux<T>> call) {
+        var endpoint = candidates.get(index);
+        
+        return Flux.defer(() -> {
+            var emitted = new AtomicBoolean();
+            return router.trackStream(endpoint, hints.latencyClass(), Flux.defer(() -> call.apply(endpoint)).timeout(timeout))
+                    .doOnNext(item -> emitted.set(true))
+                    .onErrorResume(error -> {
+                        if (emitted.get() || index + 1 >= candidates.size()) {
+                            return Flux.error(error);
+                        }
+                        logger.warn("AI upstream '{}' failed ({}), failing over to '{}'", 
+                                   endpoint.config().name(), error.toString(), candidates.get(index + 1).config().name());
+                        return streamWithFailover(hints, candidates, index + 1, call);
+                    });
+        });
+    }
+    
+    private ChatReply extractChatReply(JsonNode response) {
         try {
-            return response.path("choices")
-                    .get(0)
-                    .path("message")
-                    .path("content")
-                    .asText();
+            JsonNode choice = response.path("choices").get(0);
+            JsonNode completionTokens = response.path("usage").path("completion_tokens");
+            return new ChatReply(
+                choice.path("message").path("content").asText(),
+                choice.path("finish_reason").asText(null),
+                completionTokens.isNumber() ? completionTokens.asInt() : null
+            );
         } catch (Exception e) {
             logger.error("Failed to extract chat response: ", e);
-            return "I had trouble processing that response.";
+            return new ChatReply("I had trouble processing that response.", null, null);
         }
     }
     
@@ -168,4 +236,18 @@ public class HederaAiClientService {
             return "";
         }
     }
+    
+    /**
+     * A complete chat answer with the upstream's finish reason and token usage, when reported
+     */
+    public record ChatReply(
+        String content,
+        String finishReason,
+        Integer completionTokens
+    ) {
+        /** The answer was cut off by max_tokens */
+        public boolean truncated() {
+            return "length".equals(finishReason);
+        }
+    }
 }
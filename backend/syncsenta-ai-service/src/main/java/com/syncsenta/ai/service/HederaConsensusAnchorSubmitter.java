@@ -0,0 +1,75 @@
+package com.syncsenta.ai.service;
+
+import com.hedera.hashgraph.sdk.AccountId;
+import com.hedera.hashgraph.sdk.Client;
+import com.hedera.hashgraph.sdk.PrivateKey;
+import com.hedera.hashgraph.sdk.TopicId;
+import com.hedera.hashgraph.sdk.TopicMessageSubmitTransaction;
+import com.hedera.hashgraph.sdk.TransactionReceipt;
+import com.hedera.hashgraph.sdk.TransactionResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Anchors batch roots as messages on a Hedera Consensus Service topic
+ */
+@Service
+@ConditionalOnProperty(name = "hedera.anchoring.submitter", havingValue = "hcs")
+public class HederaConsensusAnchorSubmitter implements AnchorSubmitter, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(HederaConsensusAnchorSubmitter.class);
+
+    private final Client client;
+    private final TopicId topicId;
+
+    public HederaConsensusAnchorSubmitter(
+            @Value("${hedera.network.type}") String networkType,
+            @Value("${hedera.account.id}") String accountId,
+            @Value("${hedera.account.private-key}") String privateKey,
+            @Value("${hedera.anchoring.topic-id}") String topicId) {
+
+        this.client = switch (networkType) {
+            case "mainnet" -> Client.forMainnet();
+            case "previewnet" -> Client.forPreviewnet();
+            default -> Client.forTestnet();
+        };
+        this.client.setOperator(AccountId.fromString(accountId), PrivateKey.fromString(privateKey));
+        this.topicId = TopicId.fromString(topicId);
+
+        logger.info("Anchoring analysis batches to HCS topic {} on {}", topicId, networkType);
+    }
+
+    @Override
+    public Mono<AnchorReceipt> submit(String batchId, byte[] merkleRoot, int leafCount) {
+        String message = String.format("{\"batchId\":\"%s\",\"root\":\"%s\",\"leaves\":%d}",
+                batchId, MerkleTree.hex(merkleRoot), leafCount);
+
+        // The SDK blocks until consensus, keep it off the reactive threads
+        return Mono.fromCallable(() -> {
+                    TransactionResponse response = new TopicMessageSubmitTransaction()
+                            .setTopicId(topicId)
+                            .setMessage(message.getBytes(StandardCharsets.UTF_8))
+                            .execute(client);
+                    TransactionReceipt receipt = response.getReceipt(client);
+                    return new AnchorReceipt(
+                        topicId.toString(),
+                        response.transactionId.toString(),
+                        receipt.topicSequenceNumber
+                    );
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        client.close();
+    }
+}
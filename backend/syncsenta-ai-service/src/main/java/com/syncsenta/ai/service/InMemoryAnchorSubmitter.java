@@ -0,0 +1,47 @@
+package com.syncsenta.ai.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for Hedera Consensus Service, used in development and tests
+ */
+@Service
+@ConditionalOnProperty(name = "hedera.anchoring.submitter", havingValue = "in-memory", matchIfMissing = true)
+public class InMemoryAnchorSubmitter implements AnchorSubmitter {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryAnchorSubmitter.class);
+
+    private static final String TOPIC_ID = "in-memory";
+
+    private final List<SubmittedRoot> submitted = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public Mono<AnchorReceipt> submit(String batchId, byte[] merkleRoot, int leafCount) {
+        return Mono.fromSupplier(() -> {
+            long sequenceNumber = sequence.incrementAndGet();
+            submitted.add(new SubmittedRoot(batchId, MerkleTree.hex(merkleRoot), leafCount, sequenceNumber));
+            logger.debug("Anchored batch {} ({} results) in memory as #{}", batchId, leafCount, sequenceNumber);
+            return new AnchorReceipt(TOPIC_ID, batchId, sequenceNumber);
+        });
+    }
+
+    public List<SubmittedRoot> submittedRoots() {
+        return List.copyOf(submitted);
+    }
+
+    public record SubmittedRoot(
+        String batchId,
+        String merkleRoot,
+        int leafCount,
+        long sequenceNumber
+    ) {}
+}
@@ -0,0 +1,85 @@
+package com.syncsenta.ai.service;
+
+import com.syncsenta.ai.dto.InclusionProofResponse.ProofStep;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * SHA-256 Merkle tree over a batch of leaf hashes.
+ *
+ * Leaves and interior nodes are hashed with distinct prefixes so a leaf can
+ * never be passed off as an interior node. An odd node at any level is paired
+ * with itself.
+ */
+final class MerkleTree {
+
+    private static final byte LEAF_PREFIX = 0x00;
+    private static final byte NODE_PREFIX = 0x01;
+
+    private final List<byte[][]> levels = new ArrayList<>();
+
+    MerkleTree(List<byte[]> leafHashes) {
+        if (leafHashes.isEmpty()) {
+            throw new IllegalArgumentException("Merkle tree needs at least one leaf");
+        }
+
+        byte[][] level = leafHashes.toArray(byte[][]::new);
+        levels.add(level);
+        while (level.length > 1) {
+            byte[][] parent = new byte[(level.length + 1) / 2][];
+            for (int i = 0; i < parent.length; i++) {
+                byte[] left = level[2 * i];
+                byte[] right = 2 * i + 1 < level.length ? level[2 * i + 1] : left;
+                parent[i] = sha256(NODE_PREFIX, left, right);
+            }
+            levels.add(parent);
+            level = parent;
+        }
+    }
+
+    static byte[] leafHash(byte[] content) {
+        return sha256(LEAF_PREFIX, content);
+    }
+
+    byte[] root() {
+        return levels.get(levels.size() - 1)[0];
+    }
+
+    byte[] leaf(int index) {
+        return levels.get(0)[index];
+    }
+
+    List<ProofStep> proof(int index) {
+        List<ProofStep> steps = new ArrayList<>();
+        int position = index;
+        for (int depth = 0; depth < levels.size() - 1; depth++) {
+            byte[][] level = levels.get(depth);
+            boolean isLeft = position % 2 == 0;
+            int siblingIndex = isLeft ? Math.min(position + 1, level.length - 1) : position - 1;
+            steps.add(new ProofStep(hex(level[siblingIndex]), isLeft ? "right" : "left"));
+            position /= 2;
+        }
+        return steps;
+    }
+
+    static String hex(byte[] hash) {
+        return HexFormat.of().formatHex(hash);
+    }
+
+    private static byte[] sha256(byte prefix, byte[]... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(prefix);
+            for (byte[] part : parts) {
+                digest.update(part);
+            }
+            return digest.digest();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.syncsenta.ai.service;
+
+import com.syncsenta.ai.dto.AnalysisRequest.AnalysisType;
+
+/**
+ * Per-request complexity signals used to pick an upstream AI endpoint
+ *
+ * @param gradeLevel            student grade, or null for analysis requests
+ * @param estimatedPromptTokens rough prompt size (characters / 4)
+ * @param analysisType          analysis kind, or null for tutor chat
+ * @param streaming             whether the response is streamed
+ */
+public record RoutingHints(
+    Integer gradeLevel,
+    int estimatedPromptTokens,
+    AnalysisType analysisType,
+    boolean streaming
+) {
+    private static final int LARGE_PROMPT_TOKENS = 4000;
+
+    /**
+     * Calls whose latencies are comparable, each tracked separately per endpoint
+     */
+    public enum LatencyClass {
+        /** Full response time of a tutor reply */
+        CHAT,
+        /** Time to the first chunk of a streamed tutor reply */
+        STREAM_FIRST_CHUNK,
+        /** Full response time of an analysis */
+        ANALYSIS
+    }
+
+    public static RoutingHints forTutor(int gradeLevel, String... promptParts) {
+        return new RoutingHints(gradeLevel, estimateTokens(promptParts), null, false);
+    }
+
+    public static RoutingHints forTutorStream(int gradeLevel, String... promptParts) {
+        return new RoutingHints(gradeLevel, estimateTokens(promptParts), null, true);
+    }
+
+    public static RoutingHints forAnalysis(AnalysisType analysisType, String... promptParts) {
+        return new RoutingHints(null, estimateTokens(promptParts), analysisType, false);
+    }
+
+    public boolean isAnalysis() {
+        return analysisType != null;
+    }
+
+    public LatencyClass latencyClass() {
+        if (isAnalysis()) {
+            return LatencyClass.ANALYSIS;
+        }
+        return streaming ? LatencyClass.STREAM_FIRST_CHUNK : LatencyClass.CHAT;
+    }
+
+    /**
+     * Complexity score between 0 (short tutor turn) and 1 (large county-level analysis)
+     */
+    public double complexity() {
+        double base = analysisType == null ? 0.1 : switch (analysisType) {
+            case TEACHER_PERFORMANCE -> 0.5;
+            case SCHOOL_HEAD_OPERATIONAL -> 0.6;
+            case COUNTY_EQUITY -> 0.7;
+            case COUNTY_STRATEGIC -> 0.8;
+        };
+        double grade = gradeLevel != null ? 0.2 * gradeLevel / 12.0 : 0.0;
+        double size = 0.3 * Math.min(1.0, (double) estimatedPromptTokens / LARGE_PROMPT_TOKENS);
+
+        return Math.min(1.0, base + grade + size);
+    }
+
+    private static int estimateTokens(String... promptParts) {
+        int chars = 0;
+        for (String part : promptParts) {
+            chars += part != null ? part.length() : 0;
+        }
+        return chars / 4;
+    }
+}
@@ -1,12 +1,19 @@
 package com.syncsenta.ai.service;
 
 import com.syncsenta.ai.dto.StudentContext;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * Service for student AI tutoring using Mwalimu AI personality
  */
@@ -15,10 +22,22 @@ public class StudentTutorService {
     
     private static final Logger logger = LoggerFactory.getLogger(StudentTutorService.class);
     
+    private static final int CHARS_PER_TOKEN = 4;
+    
     private final HederaAiClientService hederaClient;
+    private final TutorEngagementAggregator engagementAggregator;
+    private final MeterRegistry meterRegistry;
+    private final int maxTokensCeiling;
     
-    public StudentTutorService(HederaAiClientService hederaClient) {
+    public StudentTutorService(
+            HederaAiClientService hederaClient,
+            TutorEngagementAggregator engagementAggregator,
+            MeterRegistry meterRegistry,
+            @Value("${hedera.ai.max-tokens}") int maxTokensCeiling) {
         this.hederaClient = hederaClient;
+        this.engagementAggregator = engagementAggregator;
+        this.meterRegistry = meterRegistry;
+        this.maxTokensCeiling = maxTokensCeiling;
     }
     
     /**
@@ -26,6 +45,7 @@ public class StudentTutorService {
      */
     public Mono<String> createTutorResponse(String message, StudentContext context) {
         String systemPrompt = buildSystemPrompt(context);
+        int maxTokens = outputBudget(context, false);
         
         logger.info("Creating tutor response for Grade {} {} student", 
                    context.gradeLevel(), context.currentSubject());
@@ -34,19 +54,121 @@ public class StudentTutorService {
             logger.info("Adapting response for low-resource environment");
         }
         
-        return hederaClient.chatCompletion(systemPrompt, message);
+        long startNanos = System.nanoTime();
+        
+        return hederaClient.chatCompletion(systemPrompt, message, context.gradeLevel(), maxTokens)
+                .doOnNext(reply -> {
+                    if (reply.completionTokens() != null) {
+                        recordTokensUsed("chat", reply.truncated() ? "budget" : "natural", reply.completionTokens());
+                    }
+                })
+                // Only a reply cut off by the token budget can end mid-sentence
+                .map(reply -> reply.truncated()
+                        ? AnswerCompletionDetector.trimToCompleteSentence(reply.content())
+                        : reply.content())
+                .doOnNext(response -> {
+                    if (!HederaAiClientService.CHAT_UNAVAILABLE.equals(response)) {
+                        engagementAggregator.recordInteraction(
+                            context, message, elapsedMillis(startNanos), response.length());
+                    }
+                });
     }
     
     /**
-     * Create a streaming chat response for student tutoring
+     * Create a streaming chat response for student tutoring.
+     * The upstream stream is cancelled as soon as the answer is complete.
      */
     public Flux<String> createTutorResponseStream(String message, StudentContext context) {
         String systemPrompt = buildSystemPrompt(context);
+        int maxTokens = outputBudget(context, true);
         
         logger.info("Creating streaming tutor response for Grade {} {} student", 
                    context.gradeLevel(), context.currentSubject());
         
-        return hederaClient.chatCompletionStream(systemPrompt, message);
+        return Flux.defer(() -> {
+            long startNanos = System.nanoTime();
+            var detector = new AnswerCompletionDetector(maxTokens);
+            var stoppedEarly = new AtomicBoolean();
+            var failed = new AtomicBoolean();
+            
+            return hederaClient.chatCompletionStream(systemPrompt, message, context.gradeLevel(), maxTokens)
+                    .doOnNext(chunk -> {
+                        if (HederaAiClientService.STREAM_UNAVAILABLE.equals(chunk)) {
+                            failed.set(true);
+                        }
+                    })
+                    .<String>handle((chunk, sink) -> {
+                        int keep = detector.accept(chunk);
+                        if (keep == AnswerCompletionDetector.CONTINUE) {
+                            sink.next(chunk);
+                            return;
+                        }
+                        if (keep > 0) {
+                            sink.next(chunk.substring(0, keep));
+                        }
+                        // Completing here cancels the upstream request
+                        stoppedEarly.set(true);
+                        sink.complete();
+                    })
+                    .doOnComplete(() -> {
+                        // Same measure as the non-streaming path: time until the answer is complete
+                        if (!failed.get()) {
+                            engagementAggregator.recordInteraction(
+                                context, message, elapsedMillis(startNanos), detector.emittedChars());
+                        }
+                        recordStreamMetrics(stoppedEarly.get(), maxTokens, detector.emittedChars(), startNanos);
+                    });
+        });
+    }
+    
+    private int outputBudget(StudentContext context, boolean streaming) {
+        int maxTokens = TutorOutputBudget.maxTokens(context, streaming, maxTokensCeiling);
+        String mode = streaming ? "stream" : "chat";
+        
+        DistributionSummary.builder("tutor.output.budget.tokens")
+                .description("max_tokens requested per tutor response")
+                .tag("mode", mode)
+                .tag("resourceLevel", context.resourceLevel().name())
+                .register(meterRegistry)
+                .record(maxTokens);
+        
+        return maxTokens;
+    }
+    
+    private void recordStreamMetrics(boolean stoppedEarly, int maxTokens, int emittedChars, long startNanos) {
+        Timer.builder("tutor.stream.duration")
+                .description("Tutor stream duration, split by early termination")
+                .tag("termination", stoppedEarly ? "early" : "natural")
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        
+        int emittedTokens = emittedChars / CHARS_PER_TOKEN;
+        recordTokensUsed("stream", stoppedEarly ? "early" : "natural", emittedTokens);
+        if (stoppedEarly) {
+            DistributionSummary.builder("tutor.output.tokens.saved")
+                    .description("Estimated output tokens saved per tutor response")
+                    .tag("mode", "stream")
+                    .tag("reason", "early_stop")
+                    .register(meterRegistry)
+                    .record(Math.max(0, maxTokens - emittedTokens));
+        }
+    }
+    
+    /**
+     * Output tokens actually used, to compare against tutor.output.budget.tokens.
+     * Chat replies report upstream usage; streams are estimated from characters.
+     */
+    private void recordTokensUsed(String mode, String termination, int tokens) {
+        DistributionSummary.builder("tutor.output.tokens.used")
+                .description("Output tokens used per tutor response")
+                .tag("mode", mode)
+                .tag("termination", termination)
+                .register(meterRegistry)
+                .record(tokens);
+    }
+    
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
     }
     
     private String buildSystemPrompt(StudentContext context) {
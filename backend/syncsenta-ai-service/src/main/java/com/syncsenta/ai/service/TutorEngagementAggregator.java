@@ -0,0 +1,411 @@
+package com.syncsenta.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syncsenta.ai.dto.ClassEngagementStats;
+import com.syncsenta.ai.dto.StudentContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process streaming aggregator for tutor interactions.
+ *
+ * Interactions are recorded into a live window of striped counters keyed by
+ * school/grade/subject, so the chat path never takes a lock. The snapshot job
+ * seals the live window, keeps the most recent windows for rolling statistics
+ * and writes them to local disk, from where they are reloaded on startup.
+ */
+@Service
+public class TutorEngagementAggregator {
+
+    private static final Logger logger = LoggerFactory.getLogger(TutorEngagementAggregator.class);
+
+    private static final long[] LATENCY_BUCKET_BOUNDS_MS = {250, 500, 1000, 2000, 4000, 8000, 16000, Long.MAX_VALUE};
+    private static final int TOP_CLUSTER_LIMIT = 5;
+    private static final String OTHER_CLUSTER = "other";
+    private static final String SNAPSHOT_FILE = "engagement-snapshot.json";
+    private static final Set<String> STOPWORDS = Set.of(
+        "the", "and", "are", "was", "were", "what", "why", "how", "who", "when", "where", "which",
+        "does", "did", "can", "could", "would", "should", "is", "do", "you", "your", "this", "that",
+        "for", "with", "about", "please", "tell", "explain", "mean", "means", "from", "into", "have", "has"
+    );
+
+    private final AtomicReference<ConcurrentHashMap<ClassKey, LiveCounters>> liveWindow =
+            new AtomicReference<>(new ConcurrentHashMap<>());
+    private final ConcurrentLinkedDeque<Map<ClassKey, WindowStats>> sealedWindows = new ConcurrentLinkedDeque<>();
+
+    private final ObjectMapper objectMapper;
+    private final Path snapshotDir;
+    private final int retainedWindows;
+    private final int maxQuestionClusters;
+
+    public TutorEngagementAggregator(
+            @Value("${engagement.snapshot-dir}") String snapshotDir,
+            @Value("${engagement.retained-windows}") int retainedWindows,
+            @Value("${engagement.max-question-clusters}") int maxQuestionClusters,
+            ObjectMapper objectMapper) {
+
+        this.snapshotDir = Path.of(snapshotDir);
+        this.retainedWindows = retainedWindows;
+        this.maxQuestionClusters = Math.max(maxQuestionClusters, 1);
+        this.objectMapper = objectMapper;
+
+        loadSealedWindows();
+    }
+
+    /**
+     * Record a completed tutor interaction. Safe to call from the chat hot path.
+     */
+    public void recordInteraction(StudentContext context, String question, long latencyMillis, int responseChars) {
+        var key = ClassKey.of(context);
+        liveWindow.get()
+                .computeIfAbsent(key, k -> new LiveCounters())
+                .record(clusterOf(question), latencyMillis, responseChars, maxQuestionClusters);
+    }
+
+    /**
+     * Rolling statistics for every class of a school, suitable for analysis context data.
+     *
+     * Only sealed windows are included, so the result stays identical between
+     * snapshots and analysis requests built from it can be served from cache.
+     */
+    public List<ClassEngagementStats> statsForSchool(String schoolId) {
+        String normalizedSchoolId = ClassKey.normalizeSchoolId(schoolId);
+
+        Map<ClassKey, WindowStats> merged = new HashMap<>();
+        for (Map<ClassKey, WindowStats> window : sealedWindows) {
+            window.forEach((key, stats) -> {
+                if (key.schoolId().equals(normalizedSchoolId)) {
+                    merged.merge(key, stats, WindowStats::plus);
+                }
+            });
+        }
+
+        return merged.entrySet().stream()
+                .map(entry -> entry.getValue().toStats(entry.getKey()))
+                .sorted(Comparator.comparing(ClassEngagementStats::messageCount).reversed()
+                        .thenComparing(ClassEngagementStats::gradeLevel)
+                        .thenComparing(ClassEngagementStats::subject))
+                .toList();
+    }
+
+    /**
+     * Seal the live window and write the retained windows to local disk
+     */
+    @Scheduled(
+        initialDelayString = "${engagement.snapshot-interval}",
+        fixedDelayString = "${engagement.snapshot-interval}"
+    )
+    public void snapshot() {
+        // Recorders that fetched the previous map just before the swap may land a
+        // few late increments in it; the statistics tolerate that small loss.
+        var previous = liveWindow.getAndSet(new ConcurrentHashMap<>());
+
+        Map<ClassKey, WindowStats> sealed = new HashMap<>();
+        previous.forEach((key, counters) -> sealed.put(key, counters.seal()));
+        sealedWindows.addFirst(sealed);
+        while (sealedWindows.size() > retainedWindows) {
+            sealedWindows.pollLast();
+        }
+
+        List<List<StoredClassWindow>> windows = sealedWindows.stream()
+                .map(window -> window.entrySet().stream()
+                        .map(entry -> StoredClassWindow.of(entry.getKey(), entry.getValue()))
+                        .toList())
+                .toList();
+
+        try {
+            Files.createDirectories(snapshotDir);
+            Path target = snapshotDir.resolve(SNAPSHOT_FILE);
+            Path temp = snapshotDir.resolve(SNAPSHOT_FILE + ".tmp");
+            objectMapper.writeValue(temp.toFile(), new StoredSnapshot(System.currentTimeMillis(), windows));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Wrote {} engagement windows to {}", windows.size(), target);
+        } catch (IOException e) {
+            logger.warn("Failed to write engagement snapshot: ", e);
+        }
+    }
+
+    /**
+     * Restore the windows sealed before a restart, so rolling statistics do not start empty
+     */
+    private void loadSealedWindows() {
+        Path file = snapshotDir.resolve(SNAPSHOT_FILE);
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+
+        StoredSnapshot stored;
+        try {
+            stored = objectMapper.readValue(file.toFile(), StoredSnapshot.class);
+        } catch (IOException e) {
+            logger.warn("Skipping unreadable engagement snapshot {}: {}", file, e.toString());
+            return;
+        }
+        if (stored.windows() == null) {
+            return;
+        }
+
+        // Stored newest first, the same order as the in-memory deque
+        for (List<StoredClassWindow> window : stored.windows()) {
+            if (sealedWindows.size() == retainedWindows) {
+                break;
+            }
+            Map<ClassKey, WindowStats> restored = new HashMap<>();
+            for (StoredClassWindow stats : window) {
+                if (stats.latencyHistogram() == null
+                        || stats.latencyHistogram().length != LATENCY_BUCKET_BOUNDS_MS.length) {
+                    continue;
+                }
+                restored.merge(stats.key(), stats.toWindowStats(), WindowStats::plus);
+            }
+            sealedWindows.addLast(restored);
+        }
+
+        logger.info("Restored {} engagement windows from {}", sealedWindows.size(), file);
+    }
+
+    static String clusterOf(String question) {
+        if (question == null) {
+            return OTHER_CLUSTER;
+        }
+
+        List<String> words = new ArrayList<>(2);
+        for (String token : question.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+")) {
+            if (token.length() >= 3 && !STOPWORDS.contains(token)) {
+                words.add(token);
+                if (words.size() == 2) {
+                    break;
+                }
+            }
+        }
+
+        return words.isEmpty() ? OTHER_CLUSTER : String.join(" ", words);
+    }
+
+    private static int latencyBucket(long latencyMillis) {
+        for (int i = 0; i < LATENCY_BUCKET_BOUNDS_MS.length; i++) {
+            if (latencyMillis <= LATENCY_BUCKET_BOUNDS_MS[i]) {
+                return i;
+            }
+        }
+        return LATENCY_BUCKET_BOUNDS_MS.length - 1;
+    }
+
+    private record ClassKey(String schoolId, int gradeLevel, String subject) {
+
+        static ClassKey of(StudentContext context) {
+            return new ClassKey(
+                normalizeSchoolId(context.schoolId()),
+                context.gradeLevel(),
+                context.currentSubject().trim().toLowerCase(Locale.ROOT)
+            );
+        }
+
+        static String normalizeSchoolId(String schoolId) {
+            return schoolId == null || schoolId.isBlank() ? "unknown" : schoolId.trim();
+        }
+    }
+
+    /**
+     * On-disk form of the retained windows, newest first
+     */
+    record StoredSnapshot(long timestamp, List<List<StoredClassWindow>> windows) {}
+
+    /**
+     * On-disk form of one class's totals in a sealed window
+     */
+    record StoredClassWindow(
+        String schoolId,
+        int gradeLevel,
+        String subject,
+        long messages,
+        long latencySumMs,
+        long responseCharsSum,
+        long[] latencyHistogram,
+        Map<String, Long> clusterCounts
+    ) {
+
+        private static StoredClassWindow of(ClassKey key, WindowStats stats) {
+            return new StoredClassWindow(
+                key.schoolId(), key.gradeLevel(), key.subject(),
+                stats.messages(), stats.latencySumMs(), stats.responseCharsSum(),
+                stats.latencyHistogram(), stats.clusterCounts()
+            );
+        }
+
+        private ClassKey key() {
+            return new ClassKey(schoolId, gradeLevel, subject);
+        }
+
+        private WindowStats toWindowStats() {
+            return new WindowStats(messages, latencySumMs, responseCharsSum, latencyHistogram.clone(),
+                                   clusterCounts != null ? Map.copyOf(clusterCounts) : Map.of());
+        }
+    }
+
+    /**
+     * Striped counters for the live window
+     */
+    private static final class LiveCounters {
+
+        private final LongAdder messages = new LongAdder();
+        private final LongAdder latencySumMs = new LongAdder();
+        private final LongAdder responseCharsSum = new LongAdder();
+        private final LongAdder[] latencyHistogram = new LongAdder[LATENCY_BUCKET_BOUNDS_MS.length];
+        private final ConcurrentHashMap<String, LongAdder> clusters = new ConcurrentHashMap<>();
+
+        LiveCounters() {
+            for (int i = 0; i < latencyHistogram.length; i++) {
+                latencyHistogram[i] = new LongAdder();
+            }
+        }
+
+        void record(String cluster, long latencyMillis, int responseChars, int maxClusters) {
+            messages.increment();
+            latencySumMs.add(latencyMillis);
+            responseCharsSum.add(responseChars);
+            latencyHistogram[latencyBucket(latencyMillis)].increment();
+
+            LongAdder clusterCount = clusters.get(cluster);
+            if (clusterCount == null) {
+                clusterCount = admitCluster(cluster, maxClusters);
+            }
+            clusterCount.increment();
+        }
+
+        /**
+         * Space-Saving admission: once the sketch is full, a new cluster takes
+         * over the smallest counter and inherits its count, so a cluster that
+         * becomes frequent late in the window still surfaces. Known clusters are
+         * incremented without the lock.
+         */
+        private LongAdder admitCluster(String cluster, int maxClusters) {
+            synchronized (clusters) {
+                LongAdder existing = clusters.get(cluster);
+                if (existing != null) {
+                    return existing;
+                }
+
+                var admitted = new LongAdder();
+                if (clusters.size() >= maxClusters) {
+                    String smallest = null;
+                    long smallestCount = Long.MAX_VALUE;
+                    for (Map.Entry<String, LongAdder> entry : clusters.entrySet()) {
+                        long count = entry.getValue().sum();
+                        if (count < smallestCount) {
+                            smallest = entry.getKey();
+                            smallestCount = count;
+                        }
+                    }
+                    clusters.remove(smallest);
+                    admitted.add(smallestCount);
+                }
+                clusters.put(cluster, admitted);
+                return admitted;
+            }
+        }
+
+        WindowStats seal() {
+            long[] histogram = new long[latencyHistogram.length];
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] = latencyHistogram[i].sum();
+            }
+
+            Map<String, Long> clusterCounts = new HashMap<>();
+            clusters.forEach((cluster, count) -> clusterCounts.put(cluster, count.sum()));
+
+            return new WindowStats(messages.sum(), latencySumMs.sum(), responseCharsSum.sum(), histogram, clusterCounts);
+        }
+    }
+
+    /**
+     * Immutable totals for a sealed window
+     */
+    private record WindowStats(
+        long messages,
+        long latencySumMs,
+        long responseCharsSum,
+        long[] latencyHistogram,
+        Map<String, Long> clusterCounts
+    ) {
+
+        WindowStats plus(WindowStats other) {
+            long[] histogram = latencyHistogram.clone();
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] += other.latencyHistogram[i];
+            }
+
+            Map<String, Long> clusters = new HashMap<>(clusterCounts);
+            other.clusterCounts.forEach((cluster, count) -> clusters.merge(cluster, count, Long::sum));
+
+            return new WindowStats(
+                messages + other.messages,
+                latencySumMs + other.latencySumMs,
+                responseCharsSum + other.responseCharsSum,
+                histogram,
+                clusters
+            );
+        }
+
+        ClassEngagementStats toStats(ClassKey key) {
+            long safeMessages = Math.max(messages, 1);
+
+            List<String> topClusters = clusterCounts.entrySet().stream()
+                    .filter(entry -> !entry.getKey().equals(OTHER_CLUSTER))
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(TOP_CLUSTER_LIMIT)
+                    .map(Map.Entry::getKey)
+                    .toList();
+
+            return new ClassEngagementStats(
+                key.schoolId(),
+                key.gradeLevel(),
+                key.subject(),
+                messages,
+                latencySumMs / safeMessages,
+                p90LatencyMs(),
+                responseCharsSum / safeMessages,
+                topClusters
+            );
+        }
+
+        private long p90LatencyMs() {
+            if (messages == 0) {
+                return 0;
+            }
+
+            long threshold = (long) Math.ceil(messages * 0.9);
+            long cumulative = 0;
+            for (int i = 0; i < latencyHistogram.length; i++) {
+                cumulative += latencyHistogram[i];
+                if (cumulative >= threshold) {
+                    // The overflow bucket has no upper bound, report its lower edge
+                    return i == LATENCY_BUCKET_BOUNDS_MS.length - 1 && i > 0
+                            ? LATENCY_BUCKET_BOUNDS_MS[i - 1]
+                            : LATENCY_BUCKET_BOUNDS_MS[i];
+                }
+            }
+            return LATENCY_BUCKET_BOUNDS_MS[LATENCY_BUCKET_BOUNDS_MS.length - 2];
+        }
+    }
+}
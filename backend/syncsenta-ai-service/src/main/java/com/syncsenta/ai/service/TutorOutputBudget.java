@@ -0,0 +1,37 @@
+package com.syncsenta.ai.service;
+
+import com.syncsenta.ai.dto.StudentContext;
+
+/**
+ * Per-request max_tokens for tutor responses.
+ *
+ * The tutor prompt asks for 1-2 sentences ending in a question, so the budget
+ * starts from what such an answer needs and grows with grade level. Streaming
+ * gets extra headroom because {@link AnswerCompletionDetector} ends it early,
+ * and teacher instructions may legitimately ask for longer answers.
+ */
+final class TutorOutputBudget {
+
+    private static final int TOKENS_PER_GRADE = 4;
+
+    private TutorOutputBudget() {
+    }
+
+    static int maxTokens(StudentContext context, boolean streaming, int ceiling) {
+        int budget = switch (context.resourceLevel()) {
+            case LOW -> 80;
+            case MEDIUM -> 110;
+            case HIGH -> 140;
+        };
+        budget += context.gradeLevel() * TOKENS_PER_GRADE;
+
+        if (context.teacherCustomization() != null && !context.teacherCustomization().isBlank()) {
+            budget += budget / 2;
+        }
+        if (streaming) {
+            budget += budget / 4;
+        }
+
+        return Math.min(budget, ceiling);
+    }
+}
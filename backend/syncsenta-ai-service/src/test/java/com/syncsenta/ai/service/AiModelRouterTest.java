@@ -0,0 +1,99 @@
+package com.syncsenta.ai.service;
+
+import com.syncsenta.ai.config.AiRoutingProperties;
+import com.syncsenta.ai.service.AiModelRouter.UpstreamEndpoint;
+import com.syncsenta.ai.service.RoutingHints.LatencyClass;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AiModelRouterTest {
+
+    private final AiModelRouter router = router(Duration.ofSeconds(30), Duration.ofMinutes(10));
+
+    @Test
+    void slowAnalysisDoesNotAffectChatRouting() {
+        UpstreamEndpoint cheap = endpoint(router, "cheap");
+
+        router.track(cheap, LatencyClass.ANALYSIS, Mono.delay(Duration.ofMillis(300))).block();
+
+        assertTrue(cheap.latencyMillis(LatencyClass.ANALYSIS) >= 299);
+        assertEquals(0.0, cheap.latencyMillis(LatencyClass.CHAT));
+        assertEquals("cheap", firstChoice(router));
+    }
+
+    @Test
+    void timedOutChatCountsAsSlowUntilItAges() throws Exception {
+        var router = router(Duration.ofSeconds(30), Duration.ofMillis(100));
+        UpstreamEndpoint cheap = endpoint(router, "cheap");
+
+        router.track(cheap, LatencyClass.CHAT, Mono.never().timeout(Duration.ofMillis(300)))
+                .onErrorResume(error -> Mono.empty())
+                .block();
+
+        assertTrue(cheap.latencyMillis(LatencyClass.CHAT) > 100);
+        assertEquals("fast", firstChoice(router));
+
+        // Without new samples the timeout fades and the cheap endpoint is tried again
+        Thread.sleep(400);
+        assertTrue(cheap.latencyMillis(LatencyClass.CHAT) < 100);
+        assertEquals("cheap", firstChoice(router));
+    }
+
+    @Test
+    void endpointReturnsFromCooldownWithFreshLatency() throws Exception {
+        var router = router(Duration.ofMillis(100), Duration.ofMinutes(10));
+        UpstreamEndpoint cheap = endpoint(router, "cheap");
+
+        router.track(cheap, LatencyClass.CHAT, Mono.delay(Duration.ofMillis(200))).block();
+        assertEquals("fast", firstChoice(router));
+
+        for (int i = 0; i < 4; i++) {
+            router.track(cheap, LatencyClass.CHAT, Mono.error(new IllegalStateException("upstream down")))
+                    .onErrorResume(error -> Mono.empty())
+                    .block();
+        }
+        assertEquals("fast", firstChoice(router));
+
+        Thread.sleep(150);
+        assertEquals(0.0, cheap.latencyMillis(LatencyClass.CHAT));
+        assertEquals("cheap", firstChoice(router));
+    }
+
+    @Test
+    void streamIsMeasuredToItsFirstChunk() {
+        UpstreamEndpoint fast = endpoint(router, "fast");
+
+        router.trackStream(fast, LatencyClass.STREAM_FIRST_CHUNK,
+                Flux.just("a").concatWith(Mono.delay(Duration.ofMillis(300)).thenReturn("b")))
+                .blockLast();
+
+        assertTrue(fast.latencyMillis(LatencyClass.STREAM_FIRST_CHUNK) < 300);
+        assertEquals(0.0, fast.latencyMillis(LatencyClass.CHAT));
+    }
+
+    private static AiModelRouter router(Duration cooldown, Duration latencyHalfLife) {
+        return new AiModelRouter("http://localhost:1", "test-key", new AiRoutingProperties(
+            Duration.ofMillis(100), Duration.ofSeconds(20), 0.5, cooldown, latencyHalfLife, List.of(
+                new AiRoutingProperties.Endpoint("cheap", "http://localhost:1", null, null, null, null, 0.3, null),
+                new AiRoutingProperties.Endpoint("fast", "http://localhost:2", null, null, null, null, 1.0, null)
+            )));
+    }
+
+    private static String firstChoice(AiModelRouter router) {
+        return router.candidates(RoutingHints.forTutor(5, "What is rain?")).get(0).config().name();
+    }
+
+    private static UpstreamEndpoint endpoint(AiModelRouter router, String name) {
+        return router.candidates(RoutingHints.forTutor(5)).stream()
+                .filter(endpoint -> endpoint.config().name().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+}
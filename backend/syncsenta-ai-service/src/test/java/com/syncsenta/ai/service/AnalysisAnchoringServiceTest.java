@@ -0,0 +1,133 @@
+package com.syncsenta.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syncsenta.ai.dto.InclusionProofResponse;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnalysisAnchoringServiceTest {
+
+    @TempDir
+    Path storeDir;
+
+    private final InMemoryAnchorSubmitter submitter = new InMemoryAnchorSubmitter();
+
+    @Test
+    void fullBatchIsAnchoredWithoutWaitingForItsAge() throws Exception {
+        var service = service(submitter, 4, 10);
+
+        for (int i = 0; i < 4; i++) {
+            service.anchor("analysis-" + i, Map.of("analysis", "result " + i));
+        }
+
+        // The flush runs off the calling thread
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!"ANCHORED".equals(service.proof("analysis-2").orElseThrow().status())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        InclusionProofResponse proof = service.proof("analysis-2").orElseThrow();
+        assertEquals("ANCHORED", proof.status());
+        assertEquals(1, submitter.submittedRoots().size());
+        var root = submitter.submittedRoots().get(0);
+        assertEquals(4, root.leafCount());
+        assertEquals(root.merkleRoot(), proof.merkleRoot());
+        assertEquals(root.batchId(), proof.batchId());
+    }
+
+    @Test
+    void partialBatchIsAnchoredWhenItReachesItsAge() {
+        var service = service(submitter, 256, 10);
+
+        for (int i = 0; i < 3; i++) {
+            service.anchor("analysis-" + i, Map.of("analysis", "result " + i));
+        }
+        assertTrue(submitter.submittedRoots().isEmpty());
+
+        service.flushScheduled();
+
+        assertEquals(1, submitter.submittedRoots().size());
+        assertEquals(3, submitter.submittedRoots().get(0).leafCount());
+        assertEquals("ANCHORED", service.proof("analysis-0").orElseThrow().status());
+    }
+
+    @Test
+    void queuedResultIsReportedAsPending() {
+        var service = service(submitter, 256, 10);
+
+        service.anchor("analysis-1", Map.of("analysis", "result"));
+
+        InclusionProofResponse proof = service.proof("analysis-1").orElseThrow();
+        assertEquals("PENDING", proof.status());
+        assertNull(proof.merkleRoot());
+        assertEquals(64, proof.leafHash().length());
+        assertTrue(service.proof("unknown").isEmpty());
+    }
+
+    @Test
+    void proofsSurviveRestartAndEviction() throws IOException {
+        var service = service(submitter, 256, 1);
+        service.anchor("analysis-1", Map.of("analysis", "first"));
+        service.flushScheduled();
+        service.anchor("analysis-2", Map.of("analysis", "second"));
+        service.flushScheduled();
+
+        // The first batch is no longer in memory
+        assertEquals(submitter.submittedRoots().get(0).merkleRoot(),
+                     service.proof("analysis-1").orElseThrow().merkleRoot());
+
+        // Anchored batches are found through the index instead of being reloaded
+        assertTrue(isEmpty(storeDir.resolve("pending")));
+        var restarted = service(new InMemoryAnchorSubmitter(), 256, 1);
+        InclusionProofResponse proof = restarted.proof("analysis-1").orElseThrow();
+        assertEquals("ANCHORED", proof.status());
+        assertEquals(submitter.submittedRoots().get(0).merkleRoot(), proof.merkleRoot());
+        assertEquals("ANCHORED", restarted.proof("analysis-2").orElseThrow().status());
+        assertTrue(restarted.proof("analysis-3").isEmpty());
+    }
+
+    @Test
+    void resultsQueuedAtShutdownAreAnchoredAfterRestart() throws IOException {
+        var failing = new AnchorSubmitter() {
+            @Override
+            public Mono<AnchorReceipt> submit(String batchId, byte[] merkleRoot, int leafCount) {
+                return Mono.error(new IllegalStateException("consensus unavailable"));
+            }
+        };
+        var service = service(failing, 256, 10);
+        service.anchor("analysis-1", Map.of("analysis", "result"));
+        service.destroy();
+
+        var restarted = service(submitter, 256, 10);
+        assertEquals("FAILED", restarted.proof("analysis-1").orElseThrow().status());
+
+        restarted.flushScheduled();
+
+        assertEquals(1, submitter.submittedRoots().size());
+        assertEquals("ANCHORED", restarted.proof("analysis-1").orElseThrow().status());
+        assertTrue(isEmpty(storeDir.resolve("pending")));
+    }
+
+    private static boolean isEmpty(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.findAny().isEmpty();
+        }
+    }
+
+    private AnalysisAnchoringService service(AnchorSubmitter submitter, int maxBatchSize, int retainedBatches) {
+        return new AnalysisAnchoringService(
+            submitter, new ObjectMapper(), storeDir.toString(), maxBatchSize, retainedBatches);
+    }
+}
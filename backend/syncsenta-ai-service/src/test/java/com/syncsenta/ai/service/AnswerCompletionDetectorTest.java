@@ -0,0 +1,100 @@
+package com.syncsenta.ai.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnswerCompletionDetectorTest {
+
+    private static final int BUDGET_TOKENS = 100;
+
+    @Test
+    void openingQuestionDoesNotEndTheAnswer() {
+        String streamed = stream(BUDGET_TOKENS,
+            "Did you know plants eat sunlight? ",
+            "🌞 They use it to make sugar. ",
+            "What else do they need?"
+        );
+
+        assertEquals("Did you know plants eat sunlight? 🌞 They use it to make sugar. What else do they need?", streamed);
+    }
+
+    @Test
+    void shortOpeningQuestionDoesNotEndTheAnswer() {
+        String streamed = stream(BUDGET_TOKENS,
+            "Why? ", "Because plants need light. ", "Can you guess what else?", " Think about rain."
+        );
+
+        assertEquals("Why? Because plants need light. Can you guess what else?", streamed);
+    }
+
+    @Test
+    void closingQuestionAfterStatementEndsTheAnswer() {
+        String streamed = stream(BUDGET_TOKENS,
+            "Plants need light. What else do they need? Think", " about rain."
+        );
+
+        assertEquals("Plants need light. What else do they need?", streamed);
+    }
+
+    @Test
+    void closingQuestionKeepsTrailingEmoji() {
+        String streamed = stream(BUDGET_TOKENS, "Plants need light. What else? 🌧️ Also", " water.");
+
+        assertEquals("Plants need light. What else? 🌧️", streamed);
+    }
+
+    @Test
+    void decimalPointIsNotASentenceEnd() {
+        String streamed = stream(BUDGET_TOKENS, "It is 3.5 metres? ", "No, it is 3.5 metres. ", "How tall are you?");
+
+        assertEquals("It is 3.5 metres? No, it is 3.5 metres. How tall are you?", streamed);
+    }
+
+    @Test
+    void questionAfterHalfTheBudgetEndsTheAnswer() {
+        String streamed = stream(10, "Have you ever wondered why the sky is blue? ", "Let me tell you.");
+
+        assertEquals("Have you ever wondered why the sky is blue?", streamed);
+    }
+
+    @Test
+    void runOfStatementsIsCutAtSentenceBoundary() {
+        String streamed = stream(BUDGET_TOKENS, "One. Two. Three! Four. Five.");
+
+        assertEquals("One. Two. Three! Four.", streamed);
+    }
+
+    @Test
+    void trimDropsPartialLastSentence() {
+        assertEquals("Plants use sunlight.",
+            AnswerCompletionDetector.trimToCompleteSentence("Plants use sunlight. What else do they ne"));
+        assertEquals("Great job! 🎉",
+            AnswerCompletionDetector.trimToCompleteSentence("Great job! 🎉 Now wha"));
+    }
+
+    @Test
+    void trimKeepsCompleteOrUnpunctuatedText() {
+        assertEquals("Plants use sunlight. What else do they need? 🌱",
+            AnswerCompletionDetector.trimToCompleteSentence("Plants use sunlight. What else do they need? 🌱"));
+        assertEquals("Plants use sunlight",
+            AnswerCompletionDetector.trimToCompleteSentence("Plants use sunlight"));
+        assertEquals("It is 3.5 metres",
+            AnswerCompletionDetector.trimToCompleteSentence("It is 3.5 metres"));
+    }
+
+    private static String stream(int budgetTokens, String... chunks) {
+        var detector = new AnswerCompletionDetector(budgetTokens);
+        var output = new StringBuilder();
+        for (String chunk : chunks) {
+            int keep = detector.accept(chunk);
+            if (keep == AnswerCompletionDetector.CONTINUE) {
+                output.append(chunk);
+                continue;
+            }
+            output.append(chunk, 0, keep);
+            break;
+        }
+        return output.toString();
+    }
+}
@@ -0,0 +1,115 @@
+package com.syncsenta.ai.service;
+
+import com.syncsenta.ai.config.ClusterProperties;
+import com.syncsenta.ai.dto.StudentContext;
+import com.syncsenta.ai.dto.StudentContext.ResourceLevel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClassroomBroadcastServiceTest {
+
+    private static final String CLASS_ID = "school-1-grade5-science";
+    private static final StudentContext CONTEXT = new StudentContext(5, "Science", ResourceLevel.LOW, "school-1", null);
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Sinks.Many<String> upstream = Sinks.many().unicast().onBackpressureBuffer();
+    private final ClassroomBroadcastService broadcasts = new ClassroomBroadcastService(
+        new StubTutor(upstream.asFlux()),
+        new ClusterMembership(new ClusterProperties(null, null, null, null, null, null, null, null), 8080),
+        new ClusterProperties(null, null, null, null, null, null, null, null),
+        meterRegistry, 64, 10, Duration.ofMinutes(1), "");
+
+    @Test
+    void slowStudentGetsCoalescedFramesWithoutHoldingBackOthers() {
+        broadcasts.open(CLASS_ID, "Why is the sky blue?", CONTEXT).block();
+        var fast = StepVerifier.create(broadcasts.subscribeLocal(CLASS_ID).orElseThrow())
+                .expectNext("aaaa", "bbbb", "cccc", "dddd")
+                .expectComplete()
+                .verifyLater();
+
+        StepVerifier.create(broadcasts.subscribeLocal(CLASS_ID).orElseThrow(), 0)
+                .expectSubscription()
+                .then(() -> {
+                    upstream.tryEmitNext("aaaa");
+                    upstream.tryEmitNext("bbbb");
+                    upstream.tryEmitNext("cccc");
+                    upstream.tryEmitNext("dddd");
+                    upstream.tryEmitComplete();
+                })
+                // Ten pending characters at most: the two oldest chunks are dropped, the rest arrive as one frame
+                .thenRequest(1)
+                .expectNext("ccccdddd")
+                .expectComplete()
+                .verify(TIMEOUT);
+
+        fast.verify(TIMEOUT);
+        assertEquals(2.0, meterRegistry.get("tutor.broadcast.chunks.dropped").counter().count());
+    }
+
+    @Test
+    void lateJoinerReceivesTheReplay() {
+        broadcasts.open(CLASS_ID, "Why is the sky blue?", CONTEXT).block();
+        upstream.tryEmitNext("Light ");
+        upstream.tryEmitNext("scatters.");
+        upstream.tryEmitComplete();
+
+        StepVerifier.create(broadcasts.subscribeLocal(CLASS_ID).orElseThrow().reduce(String::concat))
+                .expectNext("Light scatters.")
+                .expectComplete()
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void upstreamErrorReachesStudentsAfterPendingFrames() {
+        broadcasts.open(CLASS_ID, "Why is the sky blue?", CONTEXT).block();
+
+        StepVerifier.create(broadcasts.subscribeLocal(CLASS_ID).orElseThrow(), 0)
+                .expectSubscription()
+                .then(() -> {
+                    upstream.tryEmitNext("Light ");
+                    upstream.tryEmitError(new IllegalStateException("upstream down"));
+                })
+                .thenRequest(1)
+                .expectNext("Light ")
+                .expectErrorMessage("upstream down")
+                .verify(TIMEOUT);
+    }
+
+    @Test
+    void cancellingAStudentDisposesItsSubscription() {
+        Sinks.Many<String> source = Sinks.many().multicast().onBackpressureBuffer();
+
+        StepVerifier.create(broadcasts.coalescing(source.asFlux()))
+                .expectSubscription()
+                .then(() -> assertEquals(1, source.currentSubscriberCount()))
+                .then(() -> source.tryEmitNext("Light "))
+                .expectNext("Light ")
+                .thenCancel()
+                .verify(TIMEOUT);
+
+        assertEquals(0, source.currentSubscriberCount());
+    }
+
+    private static final class StubTutor extends StudentTutorService {
+
+        private final Flux<String> stream;
+
+        StubTutor(Flux<String> stream) {
+            super(null, null, new SimpleMeterRegistry(), 1000);
+            this.stream = stream;
+        }
+
+        @Override
+        public Flux<String> createTutorResponseStream(String message, StudentContext context) {
+            return stream;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.syncsenta.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import com.syncsenta.ai.config.AiRoutingProperties;
+import com.syncsenta.ai.config.ClusterProperties;
+import com.syncsenta.ai.dto.AnalysisRequest.AnalysisType;
+import com.syncsenta.ai.dto.PeerAnalysisRequest;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ClusteredAnalysisCacheTest {
+
+    private static final String SELF = "127.0.0.1:18080";
+    private static final PeerAnalysisRequest REQUEST = new PeerAnalysisRequest(
+        "You are an education analyst.", "Which grades need support?", Map.of("schoolId", "school-1"),
+        AnalysisType.SCHOOL_HEAD_OPERATIONAL);
+
+    @Test
+    void identicalRequestsInFlightShareOneComputation() {
+        var client = new StubClient(query -> Mono.delay(Duration.ofMillis(200)).thenReturn("insights"));
+        var cache = cache(client, List.of());
+
+        var first = cache.computeAsOwner(REQUEST);
+        var second = cache.computeAsOwner(REQUEST);
+
+        assertEquals(List.of("insights", "insights"), Mono.zip(first, second, List::of).block());
+        assertEquals("insights", cache.computeAsOwner(REQUEST).block());
+        assertEquals(1, client.calls.get());
+    }
+
+    @Test
+    void unavailableAnalysisIsNotCached() {
+        var answers = new AtomicInteger();
+        var client = new StubClient(query -> Mono.just(answers.getAndIncrement() == 0
+                ? HederaAiClientService.ANALYSIS_UNAVAILABLE
+                : "insights"));
+        var cache = cache(client, List.of());
+
+        assertEquals(HederaAiClientService.ANALYSIS_UNAVAILABLE, cache.computeAsOwner(REQUEST).block());
+        assertEquals("insights", cache.computeAsOwner(REQUEST).block());
+        assertEquals("insights", cache.computeAsOwner(REQUEST).block());
+        assertEquals(2, client.calls.get());
+    }
+
+    @Test
+    void keysOfAnUnreachableOwnerAreComputedLocally() throws Exception {
+        var peerRequests = new AtomicInteger();
+        HttpServer peer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        peer.createContext("/", exchange -> {
+            peerRequests.incrementAndGet();
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        peer.start();
+
+        try {
+            var client = new StubClient(query -> Mono.just("local:" + query));
+            var cache = cache(client, List.of(SELF, "127.0.0.1:" + peer.getAddress().getPort()));
+
+            // Enough distinct keys that the peer owns some of them
+            for (int i = 0; i < 20; i++) {
+                String query = "Which grades need support in term " + i + "?";
+                assertEquals("local:" + query, cache.analysisCompletion(
+                    REQUEST.systemPrompt(), query, REQUEST.contextData(), REQUEST.analysisType()).block());
+            }
+
+            assertTrue(peerRequests.get() > 0);
+            assertEquals(20, client.calls.get());
+        } finally {
+            peer.stop(0);
+        }
+    }
+
+    private static ClusteredAnalysisCache cache(HederaAiClientService client, List<String> members) {
+        var properties = new ClusterProperties(SELF, members, null, null, Duration.ofSeconds(2), null, "test-secret", null);
+        return new ClusteredAnalysisCache(client, new ClusterMembership(properties, 18080), properties, new ObjectMapper(), "");
+    }
+
+    private static final class StubClient extends HederaAiClientService {
+
+        private final Function<String, Mono<String>> answer;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        StubClient(Function<String, Mono<String>> answer) {
+            super(new AiModelRouter("http://localhost:1", "test-key", new AiRoutingProperties(null, null, null, null, null, List.of())),
+                  Duration.ofSeconds(1), 1000, 0.7, new ObjectMapper());
+            this.answer = answer;
+        }
+
+        @Override
+        public Mono<String> analysisCompletion(String systemPrompt, String userQuery, Map<String, Object> contextData,
+                                               AnalysisType analysisType) {
+            calls.incrementAndGet();
+            return answer.apply(userQuery);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.syncsenta.ai.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 10_000;
+
+    @Test
+    void ownerDoesNotDependOnMemberOrder() {
+        var ring = new ConsistentHashRing(List.of("10.0.0.1:8081", "10.0.0.2:8081", "10.0.0.3:8081"), 128);
+        var reordered = new ConsistentHashRing(List.of("10.0.0.3:8081", "10.0.0.1:8081", "10.0.0.2:8081", "10.0.0.1:8081"), 128);
+
+        assertEquals(ring.members(), reordered.members());
+        for (int i = 0; i < KEYS; i++) {
+            assertEquals(ring.owner("key-" + i), reordered.owner("key-" + i));
+        }
+    }
+
+    @Test
+    void addingAMemberOnlyMovesKeysToIt() {
+        var before = new ConsistentHashRing(List.of("10.0.0.1:8081", "10.0.0.2:8081", "10.0.0.3:8081"), 128);
+        var after = new ConsistentHashRing(List.of("10.0.0.1:8081", "10.0.0.2:8081", "10.0.0.3:8081", "10.0.0.4:8081"), 128);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "key-" + i;
+            if (!before.owner(key).equals(after.owner(key))) {
+                assertEquals("10.0.0.4:8081", after.owner(key));
+                moved++;
+            }
+        }
+
+        // About a quarter of the keys belong to the fourth member
+        assertTrue(moved > KEYS * 0.15 && moved < KEYS * 0.35, "moved " + moved);
+    }
+
+    @Test
+    void removingAMemberOnlyMovesItsOwnKeys() {
+        var before = new ConsistentHashRing(List.of("10.0.0.1:8081", "10.0.0.2:8081", "10.0.0.3:8081"), 128);
+        var after = new ConsistentHashRing(List.of("10.0.0.1:8081", "10.0.0.3:8081"), 128);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "key-" + i;
+            if (!before.owner(key).equals(after.owner(key))) {
+                assertEquals("10.0.0.2:8081", before.owner(key));
+                moved++;
+            }
+        }
+
+        assertTrue(moved > KEYS * 0.2 && moved < KEYS * 0.45, "moved " + moved);
+    }
+}
@@ -0,0 +1,81 @@
+package com.syncsenta.ai.service;
+
+import com.syncsenta.ai.dto.InclusionProofResponse.ProofStep;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class MerkleTreeTest {
+
+    @Test
+    void everyProofLeadsToTheRootForOneToNineLeaves() throws Exception {
+        for (int leafCount = 1; leafCount <= 9; leafCount++) {
+            var tree = new MerkleTree(leaves(leafCount));
+            String root = MerkleTree.hex(tree.root());
+
+            for (int i = 0; i < leafCount; i++) {
+                assertEquals(root, verify(tree.leaf(i), tree.proof(i)), "leaf " + i + " of " + leafCount);
+            }
+        }
+    }
+
+    @Test
+    void oddLeafIsPairedWithItself() throws Exception {
+        List<byte[]> leaves = leaves(3);
+        var tree = new MerkleTree(leaves);
+
+        byte[] left = node(leaves.get(0), leaves.get(1));
+        byte[] right = node(leaves.get(2), leaves.get(2));
+        assertEquals(MerkleTree.hex(node(left, right)), MerkleTree.hex(tree.root()));
+        assertEquals(2, tree.proof(2).size());
+    }
+
+    @Test
+    void tamperedLeafDoesNotVerify() throws Exception {
+        var tree = new MerkleTree(leaves(5));
+        byte[] tampered = MerkleTree.leafHash("tampered".getBytes(StandardCharsets.UTF_8));
+
+        assertNotEquals(MerkleTree.hex(tree.root()), verify(tampered, tree.proof(4)));
+    }
+
+    @Test
+    void singleLeafIsItsOwnRoot() {
+        var tree = new MerkleTree(leaves(1));
+
+        assertEquals(MerkleTree.hex(tree.leaf(0)), MerkleTree.hex(tree.root()));
+        assertEquals(0, tree.proof(0).size());
+    }
+
+    private static List<byte[]> leaves(int count) {
+        List<byte[]> leaves = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            leaves.add(MerkleTree.leafHash(("analysis-" + i).getBytes(StandardCharsets.UTF_8)));
+        }
+        return leaves;
+    }
+
+    /** Recompute the root the way an external verifier would */
+    private static String verify(byte[] leafHash, List<ProofStep> proof) throws Exception {
+        byte[] running = leafHash;
+        for (ProofStep step : proof) {
+            byte[] sibling = HexFormat.of().parseHex(step.siblingHash());
+            running = "left".equals(step.position()) ? node(sibling, running) : node(running, sibling);
+        }
+        return MerkleTree.hex(running);
+    }
+
+    private static byte[] node(byte[] left, byte[] right) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        digest.update((byte) 0x01);
+        digest.update(left);
+        digest.update(right);
+        return digest.digest();
+    }
+}
@@ -0,0 +1,73 @@
+package com.syncsenta.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syncsenta.ai.config.AiRoutingProperties;
+import com.syncsenta.ai.dto.StudentContext;
+import com.syncsenta.ai.dto.StudentContext.ResourceLevel;
+import com.syncsenta.ai.service.HederaAiClientService.ChatReply;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StudentTutorServiceTest {
+
+    private static final StudentContext CONTEXT = new StudentContext(5, "Science", ResourceLevel.LOW, "school-1", null);
+
+    @TempDir
+    Path snapshotDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void completeReplyIsReturnedUnchanged() {
+        String reply = "Plants need sunlight. What do you think they need next 🤔";
+
+        assertEquals(reply, tutor(new ChatReply(reply, "stop", 14)).createTutorResponse("Why?", CONTEXT).block());
+    }
+
+    @Test
+    void replyCutOffByTheBudgetEndsOnItsLastSentence() {
+        var truncated = new ChatReply("Plants need sunlight. What do you think they ne", "length", 12);
+
+        assertEquals("Plants need sunlight.", tutor(truncated).createTutorResponse("Why?", CONTEXT).block());
+    }
+
+    @Test
+    void reportedUsageIsRecordedAgainstTheBudget() {
+        tutor(new ChatReply("Plants need sunlight. What else? 🌱", "stop", 9)).createTutorResponse("Why?", CONTEXT).block();
+
+        var used = meterRegistry.get("tutor.output.tokens.used").tag("mode", "chat").summary();
+        assertEquals(1, used.count());
+        assertEquals(9.0, used.totalAmount());
+        assertNull(meterRegistry.find("tutor.output.tokens.saved").tag("reason", "budget").summary());
+    }
+
+    private StudentTutorService tutor(ChatReply reply) {
+        var aggregator = new TutorEngagementAggregator(snapshotDir.toString(), 12, 50, new ObjectMapper());
+        return new StudentTutorService(new StubClient(reply), aggregator, meterRegistry, 1000);
+    }
+
+    private static final class StubClient extends HederaAiClientService {
+
+        private final ChatReply reply;
+
+        StubClient(ChatReply reply) {
+            super(new AiModelRouter("http://localhost:1", "test-key", new AiRoutingProperties(null, null, null, null, null, List.of())),
+                  Duration.ofSeconds(1), 1000, 0.7, new ObjectMapper());
+            this.reply = reply;
+        }
+
+        @Override
+        public Mono<ChatReply> chatCompletion(String systemPrompt, String userMessage, int gradeLevel, int maxTokens) {
+            return Mono.just(reply);
+        }
+    }
+}
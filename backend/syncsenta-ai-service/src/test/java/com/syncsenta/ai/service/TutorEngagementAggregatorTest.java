@@ -0,0 +1,78 @@
+package com.syncsenta.ai.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.syncsenta.ai.dto.StudentContext;
+import com.syncsenta.ai.dto.StudentContext.ResourceLevel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TutorEngagementAggregatorTest {
+
+    @TempDir
+    Path snapshotDir;
+
+    @Test
+    void statsOnlyChangeWhenAWindowIsSealed() {
+        var aggregator = new TutorEngagementAggregator(snapshotDir.toString(), 12, 50, new ObjectMapper());
+        var science = new StudentContext(5, "Science", ResourceLevel.LOW, "school-1", null);
+        var maths = new StudentContext(6, "Maths", ResourceLevel.LOW, "school-1", null);
+
+        aggregator.recordInteraction(science, "Why do plants need sunlight?", 900, 300);
+        aggregator.recordInteraction(maths, "How do fractions work?", 700, 250);
+        assertTrue(aggregator.statsForSchool("school-1").isEmpty());
+
+        aggregator.snapshot();
+        var sealed = aggregator.statsForSchool("school-1");
+        aggregator.recordInteraction(science, "Why do plants need water?", 1200, 280);
+
+        assertEquals(sealed, aggregator.statsForSchool("school-1"));
+        assertEquals(2, sealed.size());
+        // Equal message counts are ordered by grade so the list is stable
+        assertEquals("science", sealed.get(0).subject());
+
+        aggregator.snapshot();
+        assertEquals(2L, aggregator.statsForSchool("school-1").get(0).messageCount());
+    }
+
+    @Test
+    void clusterThatTrendsLateStillSurfacesOnceTheSketchIsFull() {
+        var aggregator = new TutorEngagementAggregator(snapshotDir.toString(), 12, 3, new ObjectMapper());
+        var science = new StudentContext(5, "Science", ResourceLevel.LOW, "school-1", null);
+
+        aggregator.recordInteraction(science, "Why do plants grow?", 900, 300);
+        aggregator.recordInteraction(science, "What are clouds made of?", 900, 300);
+        aggregator.recordInteraction(science, "How do magnets attract?", 900, 300);
+        for (int i = 0; i < 4; i++) {
+            aggregator.recordInteraction(science, "How do volcanoes erupt?", 900, 300);
+        }
+        aggregator.snapshot();
+
+        assertEquals("volcanoes erupt", aggregator.statsForSchool("school-1").get(0).topQuestionClusters().get(0));
+    }
+
+    @Test
+    void sealedWindowsSurviveARestart() {
+        var aggregator = new TutorEngagementAggregator(snapshotDir.toString(), 2, 50, new ObjectMapper());
+        var science = new StudentContext(5, "Science", ResourceLevel.LOW, "school-1", null);
+
+        aggregator.recordInteraction(science, "Why do plants need sunlight?", 900, 300);
+        aggregator.snapshot();
+        aggregator.recordInteraction(science, "Why do plants need water?", 5000, 280);
+        aggregator.snapshot();
+        var sealed = aggregator.statsForSchool("school-1");
+
+        var restarted = new TutorEngagementAggregator(snapshotDir.toString(), 2, 50, new ObjectMapper());
+        assertEquals(sealed, restarted.statsForSchool("school-1"));
+        assertEquals(8000L, restarted.statsForSchool("school-1").get(0).p90LatencyMs());
+
+        // Restored windows still roll off as new ones are sealed
+        restarted.snapshot();
+        restarted.snapshot();
+        assertTrue(restarted.statsForSchool("school-1").isEmpty());
+    }
+}
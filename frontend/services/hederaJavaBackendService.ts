@@ -43,6 +43,7 @@ interface EquityAnalysisResponse {
         correlation: string;
     }[];
     timestamp: number;
+    analysisId: string;
 }
 
 class HederaJavaBackendError extends Error {